@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import forestry.api.apiculture.IBee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creating the offspring of a dying queen, including the mutation rolls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeeSpawnBenchmark {
+	private final IBee[] queens = new IBee[BenchmarkSetup.SPECIES_COUNT];
+	private BenchmarkBeeHousing housing;
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		housing = new BenchmarkBeeHousing(new BenchmarkWorld(), BenchmarkSetup.HOUSING_POS);
+		for (int i = 0; i < BenchmarkSetup.SPECIES_COUNT; i++) {
+			queens[i] = BenchmarkSetup.createMatedBee(i);
+		}
+	}
+
+	private IBee nextQueen() {
+		index = (index + 1) % BenchmarkSetup.SPECIES_COUNT;
+		return queens[index];
+	}
+
+	@Benchmark
+	public IBee spawnPrincess() {
+		return nextQueen().spawnPrincess(housing);
+	}
+
+	@Benchmark
+	public List<IBee> spawnDrones() {
+		return nextQueen().spawnDrones(housing);
+	}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+
+import forestry.api.apiculture.BeeManager;
+import forestry.api.apiculture.EnumBeeType;
+import forestry.api.apiculture.IBeekeepingLogic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One tick of a working bee housing, {@link IBeekeepingLogic#canWork()} followed by {@link IBeekeepingLogic#doWork()}.
+ * The queen is replaced before she dies so every measured tick runs the same code paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeekeepingLogicBenchmark {
+	/**
+	 * Less than the life of the shortest living benchmark queen.
+	 */
+	private static final int QUEEN_REPLACE_INTERVAL = 1000;
+
+	private BenchmarkBeeHousing housing;
+	private IBeekeepingLogic beekeepingLogic;
+	private ItemStack queenStack;
+	private int ticks;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		BenchmarkWorld world = new BenchmarkWorld();
+		BlockPos flowerPos = BenchmarkSetup.HOUSING_POS.add(2, 0, 2);
+		world.setBlockState(flowerPos.down(), Blocks.GRASS.getDefaultState(), 2);
+		world.setBlockState(flowerPos, Blocks.YELLOW_FLOWER.getDefaultState(), 2);
+
+		housing = new BenchmarkBeeHousing(world, BenchmarkSetup.HOUSING_POS);
+		beekeepingLogic = housing.getBeekeepingLogic();
+		queenStack = BeeManager.beeRoot.getMemberStack(BenchmarkSetup.createMatedBee(0), EnumBeeType.QUEEN);
+		housing.setQueen(queenStack.copy());
+	}
+
+	@Benchmark
+	public int tick() {
+		if (++ticks % QUEEN_REPLACE_INTERVAL == 0) {
+			housing.setQueen(queenStack.copy());
+		}
+		if (beekeepingLogic.canWork()) {
+			beekeepingLogic.doWork();
+		}
+		return housing.getProductCount();
+	}
+}
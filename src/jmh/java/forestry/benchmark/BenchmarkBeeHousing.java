@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+
+import net.minecraft.init.Biomes;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+
+import com.mojang.authlib.GameProfile;
+
+import forestry.api.apiculture.BeeManager;
+import forestry.api.apiculture.IBeeHousing;
+import forestry.api.apiculture.IBeeHousingInventory;
+import forestry.api.apiculture.IBeeListener;
+import forestry.api.apiculture.IBeeModifier;
+import forestry.api.apiculture.IBeekeepingLogic;
+import forestry.api.core.EnumHumidity;
+import forestry.api.core.EnumTemperature;
+import forestry.api.core.IErrorLogic;
+import forestry.core.errors.ErrorLogic;
+
+/**
+ * A bee housing in the plains without modifiers or listeners.
+ * Products are thrown away, so the housing never runs out of space.
+ */
+public class BenchmarkBeeHousing implements IBeeHousing, IBeeHousingInventory {
+	private final World world;
+	private final BlockPos pos;
+	private final IErrorLogic errorLogic = new ErrorLogic();
+	private final IBeekeepingLogic beekeepingLogic;
+	private ItemStack queen = ItemStack.EMPTY;
+	private ItemStack drone = ItemStack.EMPTY;
+	private int productCount;
+
+	public BenchmarkBeeHousing(World world, BlockPos pos) {
+		this.world = world;
+		this.pos = pos;
+		this.beekeepingLogic = BeeManager.beeRoot.createBeekeepingLogic(this);
+	}
+
+	/**
+	 * @return the amount of products the housing received, so the work of the bees can not be optimized away.
+	 */
+	public int getProductCount() {
+		return productCount;
+	}
+
+	/* IBeeHousing */
+	@Override
+	public Iterable<IBeeModifier> getBeeModifiers() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public Iterable<IBeeListener> getBeeListeners() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public IBeeHousingInventory getBeeInventory() {
+		return this;
+	}
+
+	@Override
+	public IBeekeepingLogic getBeekeepingLogic() {
+		return beekeepingLogic;
+	}
+
+	@Override
+	public int getBlockLightValue() {
+		return 15;
+	}
+
+	@Override
+	public boolean canBlockSeeTheSky() {
+		return true;
+	}
+
+	@Override
+	public boolean isRaining() {
+		return false;
+	}
+
+	@Nullable
+	@Override
+	public GameProfile getOwner() {
+		return null;
+	}
+
+	@Override
+	public Vec3d getBeeFXCoordinates() {
+		return new Vec3d(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+	}
+
+	@Override
+	public Biome getBiome() {
+		return Biomes.PLAINS;
+	}
+
+	@Override
+	public EnumTemperature getTemperature() {
+		return EnumTemperature.NORMAL;
+	}
+
+	@Override
+	public EnumHumidity getHumidity() {
+		return EnumHumidity.NORMAL;
+	}
+
+	@Override
+	public IErrorLogic getErrorLogic() {
+		return errorLogic;
+	}
+
+	@Override
+	public BlockPos getCoordinates() {
+		return pos;
+	}
+
+	@Override
+	public World getWorldObj() {
+		return world;
+	}
+
+	/* IBeeHousingInventory */
+	@Override
+	public ItemStack getQueen() {
+		return queen;
+	}
+
+	@Override
+	public ItemStack getDrone() {
+		return drone;
+	}
+
+	@Override
+	public void setQueen(ItemStack itemstack) {
+		this.queen = itemstack;
+	}
+
+	@Override
+	public void setDrone(ItemStack itemstack) {
+		this.drone = itemstack;
+	}
+
+	@Override
+	public boolean addProduct(ItemStack product, boolean all) {
+		productCount += product.getCount();
+		return true;
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.EnumMap;
+import java.util.Map;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import forestry.api.apiculture.EnumBeeType;
+import forestry.api.apiculture.IBee;
+import forestry.api.genetics.IAllele;
+import forestry.api.genetics.IIndividual;
+import forestry.api.genetics.ISpeciesType;
+import forestry.apiculture.genetics.BeeRoot;
+import forestry.apiculture.items.ItemBeeGE;
+
+/**
+ * The bee root without the apiculture module.
+ * Bee items are created here instead of being taken from the item registry of the module and the default template
+ * is one of the benchmark species.
+ */
+public class BenchmarkBeeRoot extends BeeRoot {
+	private final Map<EnumBeeType, Item> beeItems = new EnumMap<>(EnumBeeType.class);
+	@Nullable
+	private IAllele[] defaultTemplate;
+
+	public BenchmarkBeeRoot() {
+		for (EnumBeeType type : EnumBeeType.VALUES) {
+			beeItems.put(type, new ItemBeeGE(type));
+		}
+	}
+
+	public void setDefaultTemplate(IAllele[] defaultTemplate) {
+		this.defaultTemplate = defaultTemplate;
+	}
+
+	@Override
+	public IAllele[] getDefaultTemplate() {
+		Preconditions.checkState(defaultTemplate != null, "The benchmark species are not registered yet");
+		return defaultTemplate.clone();
+	}
+
+	@Override
+	public ItemStack getMemberStack(IIndividual individual, ISpeciesType type) {
+		Preconditions.checkArgument(individual instanceof IBee, "individual is not a bee");
+		Preconditions.checkArgument(type instanceof EnumBeeType, "type is not an EnumBeeType");
+
+		IBee bee = (IBee) individual;
+		// ensure a queen is always mated
+		if (type == EnumBeeType.QUEEN && bee.getMate() == null) {
+			bee.mate(bee);
+		}
+
+		NBTTagCompound nbttagcompound = new NBTTagCompound();
+		bee.writeToNBT(nbttagcompound);
+		ItemStack beeStack = new ItemStack(beeItems.get(type));
+		beeStack.setTagCompound(nbttagcompound);
+		return beeStack;
+	}
+
+	@Nullable
+	@Override
+	public EnumBeeType getType(ItemStack stack) {
+		Item item = stack.getItem();
+		if (item instanceof ItemBeeGE && beeItems.containsValue(item)) {
+			return ((ItemBeeGE) item).getType();
+		}
+		return null;
+	}
+}
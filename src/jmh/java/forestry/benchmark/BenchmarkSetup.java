@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3i;
+
+import forestry.api.apiculture.BeeManager;
+import forestry.api.apiculture.EnumBeeChromosome;
+import forestry.api.apiculture.FlowerManager;
+import forestry.api.apiculture.IAlleleBeeSpecies;
+import forestry.api.apiculture.IBee;
+import forestry.api.genetics.AlleleManager;
+import forestry.api.genetics.EnumTolerance;
+import forestry.api.genetics.IAllele;
+import forestry.api.genetics.IChromosomeType;
+import forestry.api.genetics.IClassification;
+import forestry.api.genetics.IClassification.EnumClassLevel;
+import forestry.apiculture.flowers.FlowerProvider;
+import forestry.apiculture.flowers.FlowerRegistry;
+import forestry.apiculture.genetics.BeeFactory;
+import forestry.apiculture.genetics.BeeMutationFactory;
+import forestry.apiculture.genetics.BeekeepingMode;
+import forestry.apiculture.genetics.JubilanceFactory;
+import forestry.apiculture.genetics.alleles.AlleleEffectNone;
+import forestry.core.config.Constants;
+import forestry.core.genetics.alleles.AlleleFactory;
+import forestry.core.genetics.alleles.AlleleRegistry;
+import forestry.core.genetics.alleles.AlleleTolerance;
+import forestry.core.genetics.alleles.EnumAllele;
+import forestry.core.genetics.alleles.IAlleleValue;
+import forestry.core.utils.ClimateUtil;
+
+/**
+ * Sets up the genetics of the bee root for the benchmarks without loading the mod.
+ * <p>
+ * The bee definitions of the apiculture module need its items and blocks, so the benchmarks register synthetic
+ * species instead. Their templates use the same allele values as the real bees, the mutation graph is about as big as
+ * the one of Forestry itself.
+ */
+public final class BenchmarkSetup {
+	public static final int SPECIES_COUNT = 64;
+	/**
+	 * Every species is the first parent of this many mutations.
+	 */
+	public static final int MUTATIONS_PER_SPECIES = 3;
+	/**
+	 * The center of the benchmark bee housing, there is a flower next to it.
+	 */
+	public static final BlockPos HOUSING_POS = new BlockPos(0, 64, 0);
+
+	private static final List<IAlleleBeeSpecies> species = new ArrayList<>();
+	private static final List<IAllele[]> templates = new ArrayList<>();
+	private static boolean initialized;
+
+	private BenchmarkSetup() {
+	}
+
+	public static synchronized void init() {
+		if (initialized) {
+			return;
+		}
+		initialized = true;
+
+		Bootstrap.register();
+
+		AlleleRegistry alleleRegistry = new AlleleRegistry();
+		AlleleManager.alleleRegistry = alleleRegistry;
+		AlleleManager.climateHelper = new ClimateUtil();
+		AlleleManager.alleleFactory = new AlleleFactory();
+		alleleRegistry.initialize();
+
+		FlowerRegistry flowerRegistry = new FlowerRegistry();
+		FlowerManager.flowerRegistry = flowerRegistry;
+		flowerRegistry.registerAcceptableFlower(Blocks.YELLOW_FLOWER, FlowerManager.FlowerTypeVanilla);
+		flowerRegistry.registerPlantableFlower(Blocks.YELLOW_FLOWER.getDefaultState(), 1.0, FlowerManager.FlowerTypeVanilla);
+
+		BeeManager.beeFactory = new BeeFactory();
+		BeeManager.beeMutationFactory = new BeeMutationFactory();
+		BeeManager.jubilanceFactory = new JubilanceFactory();
+
+		BenchmarkBeeRoot beeRoot = new BenchmarkBeeRoot();
+		BeeManager.beeRoot = beeRoot;
+		alleleRegistry.registerSpeciesRoot(beeRoot);
+		beeRoot.registerBeekeepingMode(BeekeepingMode.normal);
+
+		registerSpecies(alleleRegistry, beeRoot);
+	}
+
+	private static void registerSpecies(AlleleRegistry alleleRegistry, BenchmarkBeeRoot beeRoot) {
+		List<IAllele> speeds = createAlleles(EnumAllele.Speed.class, EnumBeeChromosome.SPEED);
+		List<IAllele> lifespans = createAlleles(EnumAllele.Lifespan.class, EnumBeeChromosome.LIFESPAN);
+		List<IAllele> fertilities = createAlleles(EnumAllele.Fertility.class, EnumBeeChromosome.FERTILITY);
+		List<IAllele> tolerances = createAlleles(EnumAllele.Tolerance.class, EnumBeeChromosome.TEMPERATURE_TOLERANCE, EnumBeeChromosome.HUMIDITY_TOLERANCE);
+		List<IAllele> flowerings = createAlleles(EnumAllele.Flowering.class, EnumBeeChromosome.FLOWERING);
+		List<IAllele> territories = createAlleles(EnumAllele.Territory.class, EnumBeeChromosome.TERRITORY);
+		IAllele vanillaFlowers = createAllele("flowers", EnumAllele.Flowers.VANILLA, EnumBeeChromosome.FLOWER_PROVIDER);
+		IAllele noEffect = new AlleleEffectNone("none", true);
+		alleleRegistry.registerAllele(noEffect, EnumBeeChromosome.EFFECT);
+		IAllele[] booleans = {
+			AlleleManager.alleleFactory.createBoolean(Constants.MOD_ID, "bool", false, false, EnumBeeChromosome.NEVER_SLEEPS, EnumBeeChromosome.TOLERATES_RAIN, EnumBeeChromosome.CAVE_DWELLING),
+			AlleleManager.alleleFactory.createBoolean(Constants.MOD_ID, "bool", true, false, EnumBeeChromosome.NEVER_SLEEPS, EnumBeeChromosome.TOLERATES_RAIN, EnumBeeChromosome.CAVE_DWELLING)
+		};
+
+		IClassification branch = alleleRegistry.createAndRegisterClassification(EnumClassLevel.GENUS, "benchmark", "Benchmarkus");
+		for (int i = 0; i < SPECIES_COUNT; i++) {
+			String name = "benchmark" + i;
+			IAlleleBeeSpecies beeSpecies = BeeManager.beeFactory.createSpecies(Constants.MOD_ID, "species" + name, i % 2 == 0, "Benchmark", "for.bees.species." + name, "for.description." + name, branch, name, 0xffdc16, 0xffdc16)
+				.addProduct(new ItemStack(Items.WHEAT_SEEDS), 0.30f)
+				.build();
+			species.add(beeSpecies);
+
+			Map<EnumBeeChromosome, IAllele> alleles = new EnumMap<>(EnumBeeChromosome.class);
+			alleles.put(EnumBeeChromosome.SPECIES, beeSpecies);
+			alleles.put(EnumBeeChromosome.SPEED, speeds.get(i % speeds.size()));
+			// keep the queens alive long enough for the beekeeping benchmark
+			alleles.put(EnumBeeChromosome.LIFESPAN, lifespans.get(lifespans.size() - 1 - i % 3));
+			alleles.put(EnumBeeChromosome.FERTILITY, fertilities.get(i % fertilities.size()));
+			alleles.put(EnumBeeChromosome.TEMPERATURE_TOLERANCE, tolerances.get(i % tolerances.size()));
+			alleles.put(EnumBeeChromosome.NEVER_SLEEPS, booleans[i % 2]);
+			alleles.put(EnumBeeChromosome.HUMIDITY_TOLERANCE, tolerances.get((i / 2) % tolerances.size()));
+			alleles.put(EnumBeeChromosome.TOLERATES_RAIN, booleans[(i / 2) % 2]);
+			alleles.put(EnumBeeChromosome.CAVE_DWELLING, booleans[(i / 4) % 2]);
+			alleles.put(EnumBeeChromosome.FLOWER_PROVIDER, vanillaFlowers);
+			alleles.put(EnumBeeChromosome.FLOWERING, flowerings.get(i % flowerings.size()));
+			alleles.put(EnumBeeChromosome.TERRITORY, territories.get(i % territories.size()));
+			alleles.put(EnumBeeChromosome.EFFECT, noEffect);
+
+			IAllele[] template = new IAllele[EnumBeeChromosome.values().length];
+			for (Map.Entry<EnumBeeChromosome, IAllele> entry : alleles.entrySet()) {
+				template[entry.getKey().ordinal()] = entry.getValue();
+			}
+			beeRoot.registerTemplate(template);
+			templates.add(template);
+		}
+		beeRoot.setDefaultTemplate(templates.get(0));
+
+		for (int i = 0; i < SPECIES_COUNT; i++) {
+			for (int m = 0; m < MUTATIONS_PER_SPECIES; m++) {
+				int partner = (i + 1 + m * 7) % SPECIES_COUNT;
+				int result = (i + 2 + m * 13) % SPECIES_COUNT;
+				BeeManager.beeMutationFactory.createMutation(species.get(i), species.get(partner), getTemplate(result), 10 + m * 5);
+			}
+		}
+	}
+
+	private static <K extends Enum<K> & IAlleleValue<?>> List<IAllele> createAlleles(Class<K> enumClass, IChromosomeType... types) {
+		String category = enumClass.getSimpleName().toLowerCase(Locale.ENGLISH);
+		List<IAllele> alleles = new ArrayList<>();
+		for (K enumValue : enumClass.getEnumConstants()) {
+			alleles.add(createAllele(category, enumValue, types));
+		}
+		return alleles;
+	}
+
+	private static IAllele createAllele(String category, IAlleleValue<?> enumValue, IChromosomeType... types) {
+		Object value = enumValue.getValue();
+		boolean isDominant = enumValue.isDominant();
+		String name = enumValue.toString().toLowerCase(Locale.ENGLISH);
+
+		if (value instanceof Float) {
+			return AlleleManager.alleleFactory.createFloat(Constants.MOD_ID, category, name, (Float) value, isDominant, types);
+		} else if (value instanceof Integer) {
+			return AlleleManager.alleleFactory.createInteger(Constants.MOD_ID, category, name, (Integer) value, isDominant, types);
+		} else if (value instanceof Vec3i) {
+			return AlleleManager.alleleFactory.createArea(Constants.MOD_ID, category, name, (Vec3i) value, isDominant, types);
+		} else if (value instanceof EnumTolerance) {
+			IAllele alleleTolerance = new AlleleTolerance(Constants.MOD_ID, category, name, (EnumTolerance) value, isDominant);
+			AlleleManager.alleleRegistry.registerAllele(alleleTolerance, types);
+			return alleleTolerance;
+		} else if (value instanceof FlowerProvider) {
+			return AlleleManager.alleleFactory.createFlowers(Constants.MOD_ID, category, name, (FlowerProvider) value, isDominant, types);
+		}
+		throw new IllegalArgumentException("could not create allele for category: " + category + " and value " + value);
+	}
+
+	public static List<IAlleleBeeSpecies> getSpecies() {
+		return Collections.unmodifiableList(species);
+	}
+
+	public static IAllele[] getTemplate(int speciesIndex) {
+		return templates.get(speciesIndex).clone();
+	}
+
+	public static IBee createBee(int speciesIndex) {
+		return BeeManager.beeRoot.templateAsIndividual(templates.get(speciesIndex));
+	}
+
+	/**
+	 * @return a bee of the given species, mated with a drone of the next species.
+	 */
+	public static IBee createMatedBee(int speciesIndex) {
+		IBee bee = createBee(speciesIndex);
+		bee.mate(createBee((speciesIndex + 1) % SPECIES_COUNT));
+		return bee;
+	}
+}
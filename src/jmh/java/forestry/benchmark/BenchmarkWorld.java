@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldInfo;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * A server side world without a server, every chunk is loaded and starts out empty.
+ * Chunks and world data are only kept in memory.
+ */
+public class BenchmarkWorld extends World {
+	public BenchmarkWorld() {
+		super(null, new WorldInfo(new WorldSettings(0L, GameType.SURVIVAL, false, false, WorldType.DEFAULT), "benchmark"), new WorldProviderSurface(), new Profiler(), false);
+		this.provider.setWorld(this);
+		this.chunkProvider = createChunkProvider();
+		this.mapStorage = new MapStorage(null);
+	}
+
+	@Override
+	protected IChunkProvider createChunkProvider() {
+		return new MemoryChunkProvider(this);
+	}
+
+	@Override
+	protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+		return true;
+	}
+
+	private static class MemoryChunkProvider implements IChunkProvider {
+		private final World world;
+		private final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+		public MemoryChunkProvider(World world) {
+			this.world = world;
+		}
+
+		@Nullable
+		@Override
+		public Chunk getLoadedChunk(int x, int z) {
+			return provideChunk(x, z);
+		}
+
+		@Override
+		public Chunk provideChunk(int x, int z) {
+			return chunks.computeIfAbsent(ChunkPos.asLong(x, z), key -> new Chunk(world, x, z));
+		}
+
+		@Override
+		public boolean tick() {
+			return false;
+		}
+
+		@Override
+		public String makeString() {
+			return "MemoryChunkProvider";
+		}
+
+		@Override
+		public boolean isChunkGeneratedAt(int x, int z) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.entity.item.EntityItem;
+import net.minecraft.util.math.AxisAlignedBB;
+
+import forestry.core.utils.datastructures.EntitySpatialHash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The neighbour queries of a dense butterfly population: 2,000 entities in a 96x16x96 area, each query is the mate
+ * search box of the butterfly AI around one of them.
+ * <p>
+ * Real butterflies need the butterfly genetics, item entities stand in for them, both queries only look at positions
+ * and bounding boxes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ButterflyNeighbourBenchmark {
+	private static final int BUTTERFLY_COUNT = 2000;
+	private static final int AREA_SIZE = 96;
+	private static final int AREA_HEIGHT = 16;
+	private static final float MATE_SEARCH_DISTANCE = 8.0F;
+
+	private final EntityItem[] butterflies = new EntityItem[BUTTERFLY_COUNT];
+	private final EntitySpatialHash<EntityItem> spatialHash = new EntitySpatialHash<>();
+	private final Random random = new Random(0);
+	private BenchmarkWorld world;
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		world = new BenchmarkWorld();
+		for (int i = 0; i < BUTTERFLY_COUNT; i++) {
+			EntityItem butterfly = new EntityItem(world);
+			butterfly.setPosition(random.nextDouble() * AREA_SIZE, 64 + random.nextDouble() * AREA_HEIGHT, random.nextDouble() * AREA_SIZE);
+			world.spawnEntity(butterfly);
+			spatialHash.add(butterfly);
+			butterflies[i] = butterfly;
+		}
+	}
+
+	private EntityItem nextButterfly() {
+		index = (index + 1) % BUTTERFLY_COUNT;
+		return butterflies[index];
+	}
+
+	private static AxisAlignedBB getMateSearchBox(EntityItem butterfly) {
+		return butterfly.getEntityBoundingBox().expand(MATE_SEARCH_DISTANCE, MATE_SEARCH_DISTANCE, MATE_SEARCH_DISTANCE);
+	}
+
+	@Benchmark
+	public List<EntityItem> worldScan() {
+		return world.getEntitiesWithinAABB(EntityItem.class, getMateSearchBox(nextButterfly()));
+	}
+
+	@Benchmark
+	public List<EntityItem> spatialHash() {
+		return spatialHash.getEntitiesWithinAABB(getMateSearchBox(nextButterfly()));
+	}
+
+	/**
+	 * Moving a butterfly a little and updating its entry, done after every butterfly update.
+	 */
+	@Benchmark
+	public int spatialHashMove() {
+		EntityItem butterfly = nextButterfly();
+		butterfly.setPosition(butterfly.posX + (random.nextDouble() - 0.5D), butterfly.posY, butterfly.posZ + (random.nextDouble() - 0.5D));
+		spatialHash.update(butterfly);
+		return spatialHash.size();
+	}
+}
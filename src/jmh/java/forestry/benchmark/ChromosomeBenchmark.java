@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import forestry.api.genetics.IChromosome;
+import forestry.core.genetics.Chromosome;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Inheriting all chromosomes of a genome from two parents, the inner loop of breeding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChromosomeBenchmark {
+	private final Random random = new Random(0);
+	private final IChromosome[][] parents = new IChromosome[BenchmarkSetup.SPECIES_COUNT][];
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		for (int i = 0; i < BenchmarkSetup.SPECIES_COUNT; i++) {
+			parents[i] = BenchmarkSetup.createMatedBee(i).getGenome().getChromosomes();
+		}
+	}
+
+	@Benchmark
+	public void inheritGenome(Blackhole blackhole) {
+		IChromosome[] parent1 = parents[index];
+		index = (index + 1) % BenchmarkSetup.SPECIES_COUNT;
+		IChromosome[] parent2 = parents[index];
+		for (int i = 0; i < parent1.length; i++) {
+			blackhole.consume(Chromosome.inheritChromosome(random, parent1[i], parent2[i]));
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+import forestry.api.apiculture.BeeManager;
+import forestry.api.apiculture.IBeeGenome;
+import forestry.apiculture.genetics.BeeGenome;
+import forestry.core.genetics.SpeciesRoot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing bee genomes, the work behind every bee item that is looked at.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenomeBenchmark {
+	private final NBTTagCompound[] genomeNBTs = new NBTTagCompound[BenchmarkSetup.SPECIES_COUNT];
+	private final IBeeGenome[] genomes = new IBeeGenome[BenchmarkSetup.SPECIES_COUNT];
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		for (int i = 0; i < BenchmarkSetup.SPECIES_COUNT; i++) {
+			genomes[i] = BenchmarkSetup.createMatedBee(i).getGenome();
+			genomeNBTs[i] = genomes[i].writeToNBT(new NBTTagCompound());
+		}
+	}
+
+	private int nextIndex() {
+		index = (index + 1) % BenchmarkSetup.SPECIES_COUNT;
+		return index;
+	}
+
+	@Benchmark
+	public IBeeGenome decodeUncached() {
+		NBTTagCompound genomeNBT = genomeNBTs[nextIndex()];
+		((SpeciesRoot) BeeManager.beeRoot).clearGenomeCache();
+		return BeeGenome.fromNBT(genomeNBT);
+	}
+
+	@Benchmark
+	public IBeeGenome decodeCached() {
+		return BeeGenome.fromNBT(genomeNBTs[nextIndex()]);
+	}
+
+	@Benchmark
+	public NBTTagCompound encode() {
+		return genomes[nextIndex()].writeToNBT(new NBTTagCompound());
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import forestry.api.apiculture.BeeManager;
+import forestry.api.apiculture.IAlleleBeeSpecies;
+import forestry.api.genetics.IAllele;
+import forestry.api.genetics.IMutation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looking up the mutations between two parent species, compared to the linear scan over all mutations that was used
+ * before the mutations were indexed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MutationBenchmark {
+	private List<IAlleleBeeSpecies> species;
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		species = BenchmarkSetup.getSpecies();
+	}
+
+	private int nextIndex() {
+		index = (index + 1) % BenchmarkSetup.SPECIES_COUNT;
+		return index;
+	}
+
+	@Benchmark
+	public List<IMutation> combinationsIndexed() {
+		int i = nextIndex();
+		IAlleleBeeSpecies parent0 = species.get(i);
+		IAlleleBeeSpecies parent1 = species.get((i + 1) % BenchmarkSetup.SPECIES_COUNT);
+		return BeeManager.beeRoot.getCombinations(parent0, parent1, false);
+	}
+
+	@Benchmark
+	public List<IMutation> combinationsLinear() {
+		int i = nextIndex();
+		IAlleleBeeSpecies parent0 = species.get(i);
+		IAlleleBeeSpecies parent1 = species.get((i + 1) % BenchmarkSetup.SPECIES_COUNT);
+		List<IMutation> combinations = new ArrayList<>();
+		String parentSpecies1UID = parent1.getUID();
+		for (IMutation mutation : BeeManager.beeRoot.getMutations(false)) {
+			if (mutation.isPartner(parent0)) {
+				IAllele partner = mutation.getPartner(parent0);
+				if (partner.getUID().equals(parentSpecies1UID)) {
+					combinations.add(mutation);
+				}
+			}
+		}
+		return combinations;
+	}
+}
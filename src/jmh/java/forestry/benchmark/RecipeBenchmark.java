@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.benchmark;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.init.Items;
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
+
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+
+import forestry.api.recipes.ICarpenterRecipe;
+import forestry.api.recipes.IFermenterRecipe;
+import forestry.api.recipes.ISqueezerRecipe;
+import forestry.core.recipes.RecipePair;
+import forestry.factory.recipes.CarpenterRecipeManager;
+import forestry.factory.recipes.FermenterRecipeManager;
+import forestry.factory.recipes.SqueezerRecipeManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recipe lookups of the machines that search their recipes every few ticks.
+ * There is one recipe per vanilla item, every lookup finds a recipe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeBenchmark {
+	private static final int RECIPE_COUNT = 256;
+
+	private final List<ItemStack> resources = new ArrayList<>();
+	private final List<NonNullList<ItemStack>> squeezerInputs = new ArrayList<>();
+	private final List<CarpenterInput> carpenterInputs = new ArrayList<>();
+	private FluidStack water;
+	private int index;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSetup.init();
+		water = new FluidStack(FluidRegistry.WATER, Fluid.BUCKET_VOLUME);
+		FluidStack lava = new FluidStack(FluidRegistry.LAVA, Fluid.BUCKET_VOLUME);
+		ItemStack box = new ItemStack(Items.PAPER);
+
+		FermenterRecipeManager fermenterManager = new FermenterRecipeManager();
+		SqueezerRecipeManager squeezerManager = new SqueezerRecipeManager();
+		CarpenterRecipeManager carpenterManager = new CarpenterRecipeManager();
+		for (Item item : Item.REGISTRY) {
+			if (resources.size() >= RECIPE_COUNT) {
+				break;
+			}
+			if (item == Items.AIR || item == Items.PAPER) {
+				continue;
+			}
+			ItemStack resource = new ItemStack(item);
+			int i = resources.size();
+			resources.add(resource);
+
+			fermenterManager.addRecipe(resource, 100 + i, 1.0f, lava, water);
+
+			squeezerManager.addRecipe(10, resource, new FluidStack(FluidRegistry.WATER, 10 + i));
+			squeezerInputs.add(NonNullList.withSize(1, resource));
+
+			FluidStack carpenterLiquid = i % 2 == 0 ? water : null;
+			ItemStack carpenterBox = i % 3 == 0 ? box : ItemStack.EMPTY;
+			carpenterManager.addRecipe(5, carpenterLiquid, carpenterBox, resource, new Object[]{"#", '#', resource});
+			InventoryBasic craftingGrid = new InventoryBasic("benchmark", false, 9);
+			craftingGrid.setInventorySlotContents(0, resource.copy());
+			carpenterInputs.add(new CarpenterInput(carpenterLiquid, carpenterBox, craftingGrid));
+		}
+	}
+
+	private int nextIndex() {
+		index = (index + 1) % resources.size();
+		return index;
+	}
+
+	@Benchmark
+	@Nullable
+	public IFermenterRecipe fermenter() {
+		return FermenterRecipeManager.findMatchingRecipe(resources.get(nextIndex()), water);
+	}
+
+	@Benchmark
+	@Nullable
+	public ISqueezerRecipe squeezer() {
+		return SqueezerRecipeManager.findMatchingRecipe(squeezerInputs.get(nextIndex()));
+	}
+
+	@Benchmark
+	public RecipePair<ICarpenterRecipe> carpenter() {
+		CarpenterInput input = carpenterInputs.get(nextIndex());
+		return CarpenterRecipeManager.findMatchingRecipe(input.liquid, input.box, input.craftingGrid);
+	}
+
+	private static class CarpenterInput {
+		@Nullable
+		private final FluidStack liquid;
+		private final ItemStack box;
+		private final InventoryBasic craftingGrid;
+
+		public CarpenterInput(@Nullable FluidStack liquid, ItemStack box, InventoryBasic craftingGrid) {
+			this.liquid = liquid;
+			this.box = box;
+			this.craftingGrid = craftingGrid;
+		}
+	}
+}
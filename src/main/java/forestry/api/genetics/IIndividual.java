@@ -7,6 +7,8 @@ package forestry.api.genetics;
 
 import java.util.List;
 
+import net.minecraft.nbt.NBTTagCompound;
+
 import forestry.api.core.INbtWritable;
 
 /**
@@ -38,6 +40,16 @@ public interface IIndividual extends INbtWritable {
 	 */
 	boolean analyze();
 
+	/**
+	 * Writes this individual into a compound that already contains an earlier write of it.
+	 * Implementations may only rewrite the data that changed since, the default writes everything.
+	 *
+	 * @since Forestry 5.8.2
+	 */
+	default void writeChangesToNBT(NBTTagCompound nbttagcompound) {
+		writeToNBT(nbttagcompound);
+	}
+
 	/**
 	 * @return true if the IIndividual has been analyzed previously.
 	 */
@@ -54,6 +54,7 @@ import forestry.apiculture.network.packets.PacketBeeLogicActive;
 import forestry.apiculture.network.packets.PacketBeeLogicActiveEntity;
 import forestry.core.config.Constants;
 import forestry.core.errors.EnumErrorCode;
+import forestry.core.network.TileUpdateQueue;
 import forestry.core.utils.Log;
 import forestry.core.utils.NetworkUtil;
 
@@ -297,10 +298,15 @@ public class BeekeepingLogic implements IBeekeepingLogic {
 			float lifespanModifier = beeModifier.getLifespanModifier(queen.getGenome(), mate, 1.0f);
 			queen.age(world, lifespanModifier);
 
-			// Write the changed queen back into the item stack.
-			NBTTagCompound nbttagcompound = new NBTTagCompound();
-			queen.writeToNBT(nbttagcompound);
-			queenStack.setTagCompound(nbttagcompound);
+			// Write the changed queen back into the item stack, the genomes stay untouched.
+			NBTTagCompound nbttagcompound = queenStack.getTagCompound();
+			if (nbttagcompound != null) {
+				queen.writeChangesToNBT(nbttagcompound);
+			} else {
+				nbttagcompound = new NBTTagCompound();
+				queen.writeToNBT(nbttagcompound);
+				queenStack.setTagCompound(nbttagcompound);
+			}
 			housing.getBeeInventory().setQueen(queenStack);
 		}
 
@@ -478,7 +484,7 @@ public class BeekeepingLogic implements IBeekeepingLogic {
 				Entity housingEntity = (Entity) this.housing;
 				NetworkUtil.sendNetworkPacket(new PacketBeeLogicActiveEntity(this.housing, housingEntity), housingEntity.getPosition(), world);
 			} else {
-				NetworkUtil.sendNetworkPacket(new PacketBeeLogicActive(housing), housing.getCoordinates(), world);
+				TileUpdateQueue.queueUpdate(new PacketBeeLogicActive(housing), housing.getCoordinates(), world);
 			}
 		}
 	}
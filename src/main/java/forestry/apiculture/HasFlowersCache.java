@@ -12,30 +12,47 @@ package forestry.apiculture;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagLongArray;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.World;
 
-import forestry.api.apiculture.FlowerManager;
+import forestry.api.apiculture.BeeManager;
 import forestry.api.apiculture.IBee;
 import forestry.api.apiculture.IBeeGenome;
 import forestry.api.apiculture.IBeeHousing;
-import forestry.api.core.IBlockPosPredicate;
+import forestry.api.apiculture.IBeeModifier;
 import forestry.api.core.INbtReadable;
 import forestry.api.core.INbtWritable;
 import forestry.api.genetics.IFlowerProvider;
+import forestry.apiculture.ModuleApiculture;
+import forestry.apiculture.flowers.FlowerIndex;
+import forestry.apiculture.flowers.FlowerRegistry;
+import forestry.core.utils.NBTUtilForestry;
 import forestry.core.utils.TickHelper;
 
+import it.unimi.dsi.fastutil.longs.AbstractLongComparator;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
 public class HasFlowersCache implements INbtWritable, INbtReadable {
 	private static final String NBT_KEY = "hasFlowerCache";
 	private static final String NBT_KEY_FLOWERS = "flowers";
+	private static final String NBT_KEY_FLOWER_POSITIONS = "flowerPositions";
+	private static final int EMPTY_CHECK_INTERVAL = 20;
+	// the housing only needs a few flowers, don't keep, save and sync every flower of the territory
+	private static final int MIN_MAX_FLOWERS = 64;
 	private int flowerCheckInterval;
 
 	private final TickHelper tickHelper = new TickHelper();
@@ -50,68 +67,108 @@ public class HasFlowersCache implements INbtWritable, INbtReadable {
 
 	@Nullable
 	private FlowerData flowerData;
-	private final ArrayList<BlockPos> flowerCoords = new ArrayList<>();
-	private final List<IBlockState> flowers = new ArrayList<>();
+	/**
+	 * Flower positions packed with {@link BlockPos#toLong()}, mapped to the last known state of the flower.
+	 * The state is null until it was looked up in the world.
+	 */
+	private final Long2ObjectLinkedOpenHashMap<IBlockState> flowers = new Long2ObjectLinkedOpenHashMap<>();
+	@Nullable
+	private List<BlockPos> flowerCoordsCache;
+	@Nullable
+	private List<IBlockState> flowerStatesCache;
+	// reused for the flowers the index finds on a refresh
+	private final LongSet foundFlowers = new LongOpenHashSet();
 
 	private boolean needsSync = false;
 
 	private static class FlowerData {
 		public final String flowerType;
 		public final Vec3i territory;
-		public final IBlockPosPredicate flowerPredicate;
-		public Iterator<BlockPos.MutableBlockPos> areaIterator;
 
-		public FlowerData(IBee queen, IBeeHousing beeHousing) {
+		public FlowerData(IBee queen) {
 			IFlowerProvider flowerProvider = queen.getGenome().getFlowerProvider();
 			this.flowerType = flowerProvider.getFlowerType();
 			this.territory = queen.getGenome().getTerritory();
-			this.flowerPredicate = FlowerManager.flowerRegistry.createAcceptedFlowerPredicate(flowerType);
-			this.areaIterator = FlowerManager.flowerRegistry.getAreaIterator(beeHousing, queen);
-		}
-
-		public void resetIterator(IBee queen, IBeeHousing beeHousing) {
-			this.areaIterator = FlowerManager.flowerRegistry.getAreaIterator(beeHousing, queen);
 		}
 	}
 
 	public void update(IBee queen, IBeeHousing beeHousing) {
+		boolean refresh = false;
 		if (flowerData == null) {
-			this.flowerData = new FlowerData(queen, beeHousing);
-			this.flowerCoords.clear();
-			this.flowers.clear();
+			this.flowerData = new FlowerData(queen);
+			clearFlowers();
+			refresh = true;
 		}
-		World world = beeHousing.getWorldObj();
 		tickHelper.onTick();
 
-		if (!flowerCoords.isEmpty() && tickHelper.updateOnInterval(flowerCheckInterval)) {
-			Iterator<BlockPos> iterator = flowerCoords.iterator();
-			while (iterator.hasNext()) {
-				BlockPos flowerPos = iterator.next();
-				if (!flowerData.flowerPredicate.test(world, flowerPos) && world.isBlockLoaded(flowerPos)) {
-					iterator.remove();
-					flowers.clear();
-					needsSync = true;
-				}
-			}
+		int checkInterval = flowers.isEmpty() ? Math.min(EMPTY_CHECK_INTERVAL, flowerCheckInterval) : flowerCheckInterval;
+		if (refresh || tickHelper.updateOnInterval(checkInterval)) {
+			refreshFlowers(queen, beeHousing);
 		}
+	}
 
-		final int flowerCount = flowerCoords.size();
-		final int ticksPerCheck = 1 + (flowerCount * flowerCount);
+	/**
+	 * Updates the known flowers from the flowers the world {@link FlowerIndex} knows inside the territory of the queen.
+	 * Flowers that are gone are removed, flowers in unloaded chunks are kept. New flowers are added up to {@link #getMaxFlowers()},
+	 * the nearest first.
+	 * The states of all flowers are looked up again, flowers can change their variant or age.
+	 */
+	private void refreshFlowers(IBee queen, IBeeHousing beeHousing) {
+		if (flowerData == null) {
+			return;
+		}
+		IBeeModifier beeModifier = BeeManager.beeRoot.createBeeHousingModifier(beeHousing);
+		Vec3i area = FlowerRegistry.getArea(queen.getGenome(), beeModifier);
+		BlockPos minPos = beeHousing.getCoordinates().add(-area.getX() / 2, -area.getY() / 2, -area.getZ() / 2);
+		BlockPos maxPos = minPos.add(area);
 
-		if (tickHelper.updateOnInterval(ticksPerCheck)) {
-			if (flowerData.areaIterator.hasNext()) {
-				BlockPos.MutableBlockPos blockPos = flowerData.areaIterator.next();
-				if (flowerData.flowerPredicate.test(world, blockPos)) {
-					addFlowerPos(blockPos.toImmutable());
+		World world = beeHousing.getWorldObj();
+		foundFlowers.clear();
+		FlowerIndex.getFlowers(world, flowerData.flowerType, minPos, maxPos, foundFlowers);
+
+		BlockPos.MutableBlockPos flowerPos = new BlockPos.MutableBlockPos();
+		LongIterator iterator = flowers.keySet().iterator();
+		while (iterator.hasNext()) {
+			long packedPos = iterator.nextLong();
+			if (!foundFlowers.remove(packedPos)) {
+				setFromLong(flowerPos, packedPos);
+				if (world.isBlockLoaded(flowerPos)) {
+					iterator.remove();
+					onFlowersChanged();
 				}
-			} else {
-				flowerData.resetIterator(queen, beeHousing);
 			}
 		}
+		// only the new flowers are left
+		int freeFlowers = getMaxFlowers() - flowers.size();
+		if (freeFlowers > 0 && !foundFlowers.isEmpty()) {
+			long[] newFlowers = foundFlowers.toLongArray();
+			if (newFlowers.length > freeFlowers) {
+				BlockPos housingPos = beeHousing.getCoordinates();
+				LongArrays.quickSort(newFlowers, new AbstractLongComparator() {
+					@Override
+					public int compare(long k1, long k2) {
+						return Long.compare(distanceSq(housingPos, k1), distanceSq(housingPos, k2));
+					}
+				});
+			}
+			for (int i = 0; i < newFlowers.length && i < freeFlowers; i++) {
+				flowers.put(newFlowers[i], null);
+			}
+			onFlowersChanged();
+		}
+		foundFlowers.clear();
+		clearFlowerStates();
+	}
+
+	private void clearFlowerStates() {
+		for (Long2ObjectMap.Entry<IBlockState> entry : flowers.long2ObjectEntrySet()) {
+			entry.setValue(null);
+		}
+		flowerStatesCache = null;
 	}
 
 	public boolean hasFlowers() {
-		return !flowerCoords.isEmpty();
+		return !flowers.isEmpty();
 	}
 
 	public boolean needsSync() {
@@ -126,46 +183,116 @@ public class HasFlowersCache implements INbtWritable, INbtReadable {
 			String flowerType = genome.getFlowerProvider().getFlowerType();
 			if (!this.flowerData.flowerType.equals(flowerType)
 				|| !this.flowerData.territory.equals(genome.getTerritory())) {
-				flowerData = new FlowerData(queen, housing);
-				flowerCoords.clear();
-				flowers.clear();
+				flowerData = new FlowerData(queen);
+				clearFlowers();
 			}
 		}
 	}
 
 	public List<BlockPos> getFlowerCoords() {
-		return Collections.unmodifiableList(flowerCoords);
+		List<BlockPos> flowerCoords = flowerCoordsCache;
+		if (flowerCoords == null) {
+			List<BlockPos> positions = new ArrayList<>(flowers.size());
+			LongIterator iterator = flowers.keySet().iterator();
+			while (iterator.hasNext()) {
+				positions.add(BlockPos.fromLong(iterator.nextLong()));
+			}
+			flowerCoords = flowerCoordsCache = Collections.unmodifiableList(positions);
+		}
+		return flowerCoords;
 	}
 
 	public List<IBlockState> getFlowers(World world) {
-		if (flowers.isEmpty() && !flowerCoords.isEmpty()) {
-			flowers.clear();
-			for (BlockPos flowerCoord : flowerCoords) {
-				IBlockState blockState = world.getBlockState(flowerCoord);
-				flowers.add(blockState);
+		List<IBlockState> flowerStates = flowerStatesCache;
+		if (flowerStates == null) {
+			List<IBlockState> states = new ArrayList<>(flowers.size());
+			BlockPos.MutableBlockPos flowerPos = new BlockPos.MutableBlockPos();
+			for (Long2ObjectMap.Entry<IBlockState> entry : flowers.long2ObjectEntrySet()) {
+				IBlockState blockState = entry.getValue();
+				if (blockState == null) {
+					setFromLong(flowerPos, entry.getLongKey());
+					blockState = world.getBlockState(flowerPos);
+					entry.setValue(blockState);
+				}
+				states.add(blockState);
 			}
+			flowerStates = flowerStatesCache = Collections.unmodifiableList(states);
 		}
-		return Collections.unmodifiableList(flowers);
+		return flowerStates;
 	}
 
 	public void addFlowerPos(BlockPos blockPos) {
-		flowerCoords.add(blockPos);
-		flowers.clear();
-		needsSync = true;
+		if (flowers.size() < getMaxFlowers() && !flowers.containsKey(blockPos.toLong())) {
+			flowers.put(blockPos.toLong(), null);
+			onFlowersChanged();
+		}
 	}
 
 	public void forceLookForFlowers(IBee queen, IBeeHousing housing) {
 		if (flowerData != null) {
-			flowerCoords.clear();
-			flowers.clear();
-			flowerData.resetIterator(queen, housing);
-			World world = housing.getWorldObj();
-			while (flowerData.areaIterator.hasNext()) {
-				BlockPos.MutableBlockPos blockPos = flowerData.areaIterator.next();
-				if (flowerData.flowerPredicate.test(world, blockPos)) {
-					addFlowerPos(blockPos.toImmutable());
-				}
-			}
+			clearFlowers();
+			refreshFlowers(queen, housing);
+		}
+	}
+
+	private void clearFlowers() {
+		flowers.clear();
+		flowerCoordsCache = null;
+		flowerStatesCache = null;
+	}
+
+	private void onFlowersChanged() {
+		flowerCoordsCache = null;
+		flowerStatesCache = null;
+		needsSync = true;
+	}
+
+	/**
+	 * The housing plants flowers until it knows {@link ModuleApiculture#maxFlowersSpawnedPerHive} flowers, so it has to keep at least as many.
+	 */
+	private static int getMaxFlowers() {
+		return Math.max(MIN_MAX_FLOWERS, ModuleApiculture.maxFlowersSpawnedPerHive);
+	}
+
+	private static long distanceSq(BlockPos pos, long packedPos) {
+		long x = (packedPos >> 38) - pos.getX();
+		long y = (packedPos << 26 >> 52) - pos.getY();
+		long z = (packedPos << 38 >> 38) - pos.getZ();
+		return x * x + y * y + z * z;
+	}
+
+	/**
+	 * Same as {@link BlockPos#fromLong(long)}, without allocating a new position.
+	 */
+	private static void setFromLong(BlockPos.MutableBlockPos pos, long packedPos) {
+		int x = (int) (packedPos >> 38);
+		int y = (int) (packedPos << 26 >> 52);
+		int z = (int) (packedPos << 38 >> 38);
+		pos.setPos(x, y, z);
+	}
+
+	/**
+	 * @return the packed flower positions in ascending order, each stored as the difference to the previous position.
+	 */
+	private long[] getDeltaEncodedPositions() {
+		long[] positions = flowers.keySet().toLongArray();
+		Arrays.sort(positions);
+		long previous = 0;
+		for (int i = 0; i < positions.length; i++) {
+			long position = positions[i];
+			positions[i] = position - previous;
+			previous = position;
+		}
+		return positions;
+	}
+
+	private void setDeltaEncodedPositions(long[] deltas) {
+		clearFlowers();
+		long position = 0;
+		int maxFlowers = getMaxFlowers();
+		for (int i = 0; i < deltas.length && i < maxFlowers; i++) {
+			position += deltas[i];
+			flowers.put(position, null);
 		}
 	}
 
@@ -176,40 +303,32 @@ public class HasFlowersCache implements INbtWritable, INbtReadable {
 		}
 
 		NBTTagCompound hasFlowerCacheNBT = nbttagcompound.getCompoundTag(NBT_KEY);
-		flowerCoords.clear();
-		if (hasFlowerCacheNBT.hasKey(NBT_KEY_FLOWERS)) {
+		clearFlowers();
+		if (hasFlowerCacheNBT.hasKey(NBT_KEY_FLOWER_POSITIONS)) {
+			setDeltaEncodedPositions(NBTUtilForestry.getLongArray(hasFlowerCacheNBT.getTag(NBT_KEY_FLOWER_POSITIONS)));
+			needsSync = true;
+		} else if (hasFlowerCacheNBT.hasKey(NBT_KEY_FLOWERS)) {
+			// legacy format, x y z triples
 			int[] flowersList = hasFlowerCacheNBT.getIntArray(NBT_KEY_FLOWERS);
 			if (flowersList.length % 3 == 0) {
 				int flowerCount = flowersList.length / 3;
 
-				flowerCoords.ensureCapacity(flowerCount);
-
 				for (int i = 0; i < flowerCount; i++) {
 					int index = i * 3;
 					BlockPos flowerPos = new BlockPos(flowersList[index], flowersList[index + 1], flowersList[index + 2]);
-					flowerCoords.add(flowerPos);
+					flowers.put(flowerPos.toLong(), null);
 				}
 				needsSync = true;
 			}
 		}
-		flowers.clear();
 	}
 
 	@Override
 	public NBTTagCompound writeToNBT(NBTTagCompound nbttagcompound) {
 		NBTTagCompound hasFlowerCacheNBT = new NBTTagCompound();
 
-		if (!flowerCoords.isEmpty()) {
-			int[] flowersList = new int[flowerCoords.size() * 3];
-			int i = 0;
-			for (BlockPos flowerPos : flowerCoords) {
-				flowersList[i] = flowerPos.getX();
-				flowersList[i + 1] = flowerPos.getY();
-				flowersList[i + 2] = flowerPos.getZ();
-				i += 3;
-			}
-
-			hasFlowerCacheNBT.setIntArray(NBT_KEY_FLOWERS, flowersList);
+		if (!flowers.isEmpty()) {
+			hasFlowerCacheNBT.setTag(NBT_KEY_FLOWER_POSITIONS, new NBTTagLongArray(getDeltaEncodedPositions()));
 		}
 
 		nbttagcompound.setTag(NBT_KEY, hasFlowerCacheNBT);
@@ -217,26 +336,19 @@ public class HasFlowersCache implements INbtWritable, INbtReadable {
 	}
 
 	public void writeData(PacketBuffer data) {
-		int size = flowerCoords.size();
-		data.writeVarInt(size);
-		if (size > 0) {
-			for (BlockPos pos : flowerCoords) {
-				data.writeVarInt(pos.getX());
-				data.writeVarInt(pos.getY());
-				data.writeVarInt(pos.getZ());
-			}
+		long[] deltas = getDeltaEncodedPositions();
+		data.writeVarInt(deltas.length);
+		for (long delta : deltas) {
+			data.writeVarLong(delta);
 		}
 	}
 
 	public void readData(PacketBuffer data) {
-		flowerCoords.clear();
-		flowers.clear();
-
 		int size = data.readVarInt();
-		while (size > 0) {
-			BlockPos pos = new BlockPos(data.readVarInt(), data.readVarInt(), data.readVarInt());
-			flowerCoords.add(pos);
-			size--;
+		long[] deltas = new long[size];
+		for (int i = 0; i < size; i++) {
+			deltas[i] = data.readVarLong();
 		}
+		setDeltaEncodedPositions(deltas);
 	}
 }
@@ -83,6 +83,7 @@ import forestry.apiculture.capabilities.ArmorApiarist;
 import forestry.apiculture.commands.CommandBee;
 import forestry.apiculture.entities.EntityMinecartApiary;
 import forestry.apiculture.entities.EntityMinecartBeehouse;
+import forestry.apiculture.flowers.FlowerIndexEventHandler;
 import forestry.apiculture.flowers.FlowerRegistry;
 import forestry.apiculture.genetics.BeeBranchDefinition;
 import forestry.apiculture.genetics.BeeDefinition;
@@ -235,6 +236,7 @@ public class ModuleApiculture extends BlankForestryModule {
 		BeeDefinition.preInit();
 
 		MinecraftForge.EVENT_BUS.register(this);
+		MinecraftForge.EVENT_BUS.register(new FlowerIndexEventHandler());
 
 		if (Config.enableVillagers) {
 			// Register village components with the Structure registry.
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.apiculture.flowers;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import forestry.api.apiculture.FlowerManager;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+/**
+ * World level index of accepted flowers, shared by all bee housings of a world.
+ * <p>
+ * The index is split into chunk sections (16x16x16) and flower types. A section is scanned for a flower type the first
+ * time a housing asks for it, afterwards the index is kept up to date from block changes, see {@link FlowerIndexEventHandler}.
+ * Blocks that are set without notifying their neighbours (world generation, plant growth and many mods) are not seen,
+ * so a section is scanned again when it is asked for after {@link #SECTION_REFRESH_INTERVAL} ticks.
+ * Sections are dropped when their chunk unloads.
+ * <p>
+ * Only used on the server.
+ */
+public class FlowerIndex {
+	private static final int SECTION_REFRESH_INTERVAL = 1200;
+	private static final Map<World, FlowerIndex> indices = new HashMap<>();
+
+	private final World world;
+	private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+	private final Map<String, FlowerRegistry.AcceptedFlowerPredicate> predicates = new HashMap<>();
+
+	private FlowerIndex(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Adds the packed positions ({@link BlockPos#toLong()}) of all accepted flowers of the given type inside the box to the collection.
+	 * Parts of the box that are in unloaded chunks are ignored.
+	 */
+	public static void getFlowers(World world, String flowerType, BlockPos min, BlockPos max, LongCollection flowers) {
+		FlowerIndex index = indices.computeIfAbsent(world, FlowerIndex::new);
+		index.collectFlowers(flowerType, min, max, flowers);
+	}
+
+	public static void onBlockChanged(World world, BlockPos pos, IBlockState blockState) {
+		FlowerIndex index = indices.get(world);
+		if (index != null) {
+			index.updatePosition(pos, blockState);
+		}
+	}
+
+	public static void onChunkUnloaded(World world, int chunkX, int chunkZ) {
+		FlowerIndex index = indices.get(world);
+		if (index != null) {
+			for (int sectionY = 0; sectionY < 16; sectionY++) {
+				index.sections.remove(getSectionKey(chunkX, sectionY, chunkZ));
+			}
+		}
+	}
+
+	public static void onWorldUnloaded(World world) {
+		indices.remove(world);
+	}
+
+	private void collectFlowers(String flowerType, BlockPos min, BlockPos max, LongCollection flowers) {
+		int minY = Math.max(0, min.getY());
+		int maxY = Math.min(world.getHeight() - 1, max.getY());
+		if (minY > maxY) {
+			return;
+		}
+		for (int sectionX = min.getX() >> 4; sectionX <= max.getX() >> 4; sectionX++) {
+			for (int sectionZ = min.getZ() >> 4; sectionZ <= max.getZ() >> 4; sectionZ++) {
+				for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+					LongSet sectionFlowers = getSectionFlowers(flowerType, sectionX, sectionY, sectionZ);
+					if (sectionFlowers == null || sectionFlowers.isEmpty()) {
+						continue;
+					}
+					if (sectionX << 4 >= min.getX() && (sectionX << 4) + 15 <= max.getX()
+						&& sectionY << 4 >= minY && (sectionY << 4) + 15 <= maxY
+						&& sectionZ << 4 >= min.getZ() && (sectionZ << 4) + 15 <= max.getZ()) {
+						flowers.addAll(sectionFlowers);
+						continue;
+					}
+					LongIterator iterator = sectionFlowers.iterator();
+					while (iterator.hasNext()) {
+						long packedPos = iterator.nextLong();
+						// same as BlockPos.fromLong, without allocating a position for every flower
+						int x = (int) (packedPos >> 38);
+						int y = (int) (packedPos << 26 >> 52);
+						int z = (int) (packedPos << 38 >> 38);
+						if (x >= min.getX() && x <= max.getX()
+							&& y >= minY && y <= maxY
+							&& z >= min.getZ() && z <= max.getZ()) {
+							flowers.add(packedPos);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private LongSet getSectionFlowers(String flowerType, int sectionX, int sectionY, int sectionZ) {
+		Chunk chunk = world.getChunkProvider().getLoadedChunk(sectionX, sectionZ);
+		if (chunk == null) {
+			return null;
+		}
+		long sectionKey = getSectionKey(sectionX, sectionY, sectionZ);
+		long worldTime = world.getTotalWorldTime();
+		Section section = sections.get(sectionKey);
+		if (section == null) {
+			section = new Section(worldTime);
+			sections.put(sectionKey, section);
+		} else if (worldTime - section.scanTime >= SECTION_REFRESH_INTERVAL) {
+			section.flowersByType.clear();
+			section.scanTime = worldTime;
+		}
+		LongSet flowers = section.flowersByType.get(flowerType);
+		if (flowers == null) {
+			flowers = scanSection(chunk, flowerType, sectionY);
+			section.flowersByType.put(flowerType, flowers);
+		}
+		return flowers;
+	}
+
+	private LongSet scanSection(Chunk chunk, String flowerType, int sectionY) {
+		LongSet flowers = new LongOpenHashSet();
+		ExtendedBlockStorage storage = chunk.getBlockStorageArray()[sectionY];
+		if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+			return flowers;
+		}
+
+		FlowerRegistry.AcceptedFlowerPredicate predicate = getPredicate(flowerType);
+		int baseX = chunk.x << 4;
+		int baseY = sectionY << 4;
+		int baseZ = chunk.z << 4;
+		BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+		for (int y = 0; y < 16; y++) {
+			for (int z = 0; z < 16; z++) {
+				for (int x = 0; x < 16; x++) {
+					IBlockState blockState = storage.get(x, y, z);
+					pos.setPos(baseX + x, baseY + y, baseZ + z);
+					if (predicate.test(world, pos, blockState)) {
+						flowers.add(pos.toLong());
+					}
+				}
+			}
+		}
+		return flowers;
+	}
+
+	private void updatePosition(BlockPos pos, IBlockState blockState) {
+		Section section = sections.get(getSectionKey(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4));
+		if (section == null) {
+			return;
+		}
+		long packedPos = pos.toLong();
+		for (Map.Entry<String, LongSet> entry : section.flowersByType.entrySet()) {
+			FlowerRegistry.AcceptedFlowerPredicate predicate = getPredicate(entry.getKey());
+			if (predicate.test(world, pos, blockState)) {
+				entry.getValue().add(packedPos);
+			} else {
+				entry.getValue().remove(packedPos);
+			}
+		}
+	}
+
+	private FlowerRegistry.AcceptedFlowerPredicate getPredicate(String flowerType) {
+		return predicates.computeIfAbsent(flowerType, type -> {
+			FlowerRegistry flowerRegistry = (FlowerRegistry) FlowerManager.flowerRegistry;
+			return flowerRegistry.createAcceptedFlowerTester(type);
+		});
+	}
+
+	private static long getSectionKey(int sectionX, int sectionY, int sectionZ) {
+		return ((long) sectionX & 0x3FFFFFFL) << 38 | ((long) sectionY & 0xFFFL) << 26 | ((long) sectionZ & 0x3FFFFFFL);
+	}
+
+	private static class Section {
+		private final Map<String, LongSet> flowersByType = new HashMap<>();
+		private long scanTime;
+
+		public Section(long scanTime) {
+			this.scanTime = scanTime;
+		}
+	}
+}
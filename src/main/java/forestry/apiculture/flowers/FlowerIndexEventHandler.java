@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.apiculture.flowers;
+
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Keeps the {@link FlowerIndex} of every server world up to date.
+ */
+public class FlowerIndexEventHandler {
+	@SubscribeEvent
+	public void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			FlowerIndex.onBlockChanged(world, event.getPos(), event.getState());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event) {
+		Chunk chunk = event.getChunk();
+		FlowerIndex.onChunkUnloaded(event.getWorld(), chunk.x, chunk.z);
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		FlowerIndex.onWorldUnloaded(event.getWorld());
+	}
+}
@@ -128,7 +128,7 @@ public final class FlowerRegistry implements IFlowerRegistry, IFlowerGrowthHelpe
 		}
 	}
 
-	private static Vec3i getArea(IBeeGenome genome, IBeeModifier beeModifier) {
+	public static Vec3i getArea(IBeeGenome genome, IBeeModifier beeModifier) {
 		Vec3i genomeTerritory = genome.getTerritory();
 		float housingModifier = beeModifier.getTerritoryModifier(genome, 1f);
 		return VectUtil.scale(genomeTerritory, housingModifier * 3.0f);
@@ -187,6 +187,10 @@ public final class FlowerRegistry implements IFlowerRegistry, IFlowerGrowthHelpe
 
 	@Override
 	public IBlockPosPredicate createAcceptedFlowerPredicate(String flowerType) {
+		return createAcceptedFlowerTester(flowerType);
+	}
+
+	AcceptedFlowerPredicate createAcceptedFlowerTester(String flowerType) {
 		Set<IFlowerAcceptableRule> acceptableRules = this.registeredRules.get(flowerType);
 		Set<IBlockState> acceptedBlockStates = this.getAcceptedBlockStates(flowerType);
 		Set<Block> acceptedBlocks = this.acceptableBlocks.get(flowerType);
@@ -292,7 +296,7 @@ public final class FlowerRegistry implements IFlowerRegistry, IFlowerGrowthHelpe
 		return blockState != null && world.setBlockState(pos, blockState);
 	}
 
-	private static class AcceptedFlowerPredicate implements IBlockPosPredicate {
+	static class AcceptedFlowerPredicate implements IBlockPosPredicate {
 		private final String flowerType;
 		private final Set<IFlowerAcceptableRule> acceptableRules;
 		private final Set<Block> acceptedBlocks;
@@ -309,16 +313,24 @@ public final class FlowerRegistry implements IFlowerRegistry, IFlowerGrowthHelpe
 		public boolean test(World world, BlockPos blockPos) {
 			if (world.isBlockLoaded(blockPos)) {
 				IBlockState blockState = world.getBlockState(blockPos);
-				blockState = blockState.getBlock().getActualState(blockState, world, blockPos);
-				if (!blockState.getBlock().isAir(blockState, world, blockPos)) {
-					for (IFlowerAcceptableRule acceptableRule : acceptableRules) {
-						if (acceptableRule.isAcceptableFlower(blockState, world, blockPos, flowerType)) {
-							return true;
-						}
-					}
+				return test(world, blockPos, blockState);
+			}
+			return false;
+		}
 
-					return isAcceptedFlower(blockState, acceptedBlocks, acceptedBlockStates);
+		/**
+		 * Tests an already loaded block state, used by the {@link FlowerIndex} to test whole chunk sections.
+		 */
+		public boolean test(World world, BlockPos blockPos, IBlockState blockState) {
+			blockState = blockState.getBlock().getActualState(blockState, world, blockPos);
+			if (!blockState.getBlock().isAir(blockState, world, blockPos)) {
+				for (IFlowerAcceptableRule acceptableRule : acceptableRules) {
+					if (acceptableRule.isAcceptableFlower(blockState, world, blockPos, flowerType)) {
+						return true;
+					}
 				}
+
+				return isAcceptedFlower(blockState, acceptedBlocks, acceptedBlockStates);
 			}
 			return false;
 		}
@@ -57,6 +57,22 @@ public class ApiaristTracker extends BreedingTracker implements IApiaristTracker
 		return nbttagcompound;
 	}
 
+	@Override
+	protected NBTTagCompound writeSyncData() {
+		NBTTagCompound syncData = new NBTTagCompound();
+		syncData.setInteger("QueensTotal", queensTotal);
+		syncData.setInteger("PrincessesTotal", princessesTotal);
+		syncData.setInteger("DronesTotal", dronesTotal);
+		return syncData;
+	}
+
+	@Override
+	protected void readSyncData(NBTTagCompound syncData) {
+		queensTotal = syncData.getInteger("QueensTotal");
+		princessesTotal = syncData.getInteger("PrincessesTotal");
+		dronesTotal = syncData.getInteger("DronesTotal");
+	}
+
 	@Override
 	public void registerPickup(IIndividual individual) {
 		ISpeciesRoot speciesRoot = individual.getGenome().getPrimary().getRoot();
@@ -135,6 +135,17 @@ public class Bee extends IndividualLiving implements IBee {
 		return nbttagcompound;
 	}
 
+	@Override
+	public void writeChangesToNBT(NBTTagCompound nbttagcompound) {
+		super.writeChangesToNBT(nbttagcompound);
+
+		if (isNatural) {
+			nbttagcompound.removeTag("NA");
+		} else {
+			nbttagcompound.setBoolean("NA", false);
+		}
+	}
+
 	@Override
 	public void setIsNatural(boolean flag) {
 		this.isNatural = flag;
@@ -158,6 +169,7 @@ public class Bee extends IndividualLiving implements IBee {
 
 		IBee drone = (IBee) individual;
 		mate = drone.getGenome();
+		onMateChanged();
 	}
 
 	/* EFFECTS */
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.arboriculture;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongList;
+
+/**
+ * Collects the leaves that have to check if they decay and checks them batched at the end of the world tick.
+ * <p>
+ * All leaves of a batch that are close to each other share one region: the block states of the region are classified
+ * once into a byte buffer and one breadth first search from every block that sustains leaves marks all leaves connected
+ * to it by at most {@link #MAX_SUSTAIN_DISTANCE} leaves.
+ * Leaves that were not reached decay. At most {@link #MAX_LEAVES_PER_TICK} leaves are checked per world tick, the rest
+ * stays queued for the following ticks.
+ * <p>
+ * Every world has its own scheduler with its own buffers, so there is no state shared between worlds.
+ */
+public class LeafDecayScheduler {
+	private static final int MAX_LEAVES_PER_TICK = 256;
+	private static final int MAX_SUSTAIN_DISTANCE = 8;
+	private static final int SEARCH_RADIUS = 4;
+	/**
+	 * Maximum size of one region along every axis, including the search radius on both sides.
+	 */
+	private static final int MAX_REGION_SIZE = 48;
+
+	private static final byte NOT_SUSTAINS_LEAVES = -1;
+	private static final byte IS_LEAVES = -2;
+
+	private static final Map<World, LeafDecayScheduler> schedulers = new HashMap<>();
+
+	private final World world;
+	private final LongLinkedOpenHashSet pendingLeaves = new LongLinkedOpenHashSet();
+	private final LongList batch = new LongArrayList();
+	private final LongList region = new LongArrayList();
+	private byte[] sustainValues = new byte[0];
+	private int[] searchQueue = new int[0];
+
+	private LeafDecayScheduler(World world) {
+		this.world = world;
+	}
+
+	public static void scheduleDecayCheck(World world, BlockPos pos) {
+		LeafDecayScheduler scheduler = schedulers.computeIfAbsent(world, LeafDecayScheduler::new);
+		scheduler.pendingLeaves.add(pos.toLong());
+	}
+
+	public static void onWorldTick(World world) {
+		LeafDecayScheduler scheduler = schedulers.get(world);
+		if (scheduler != null) {
+			scheduler.checkPendingLeaves();
+		}
+	}
+
+	public static void onWorldUnloaded(World world) {
+		schedulers.remove(world);
+	}
+
+	private void checkPendingLeaves() {
+		if (pendingLeaves.isEmpty()) {
+			return;
+		}
+
+		batch.clear();
+		while (!pendingLeaves.isEmpty() && batch.size() < MAX_LEAVES_PER_TICK) {
+			batch.add(pendingLeaves.removeFirstLong());
+		}
+
+		while (!batch.isEmpty()) {
+			collectRegion();
+			checkRegion();
+		}
+	}
+
+	/**
+	 * Moves the first leaf of the batch and all other leaves that fit into one region with it from the batch into the region.
+	 */
+	private void collectRegion() {
+		region.clear();
+		BlockPos first = BlockPos.fromLong(batch.getLong(batch.size() - 1));
+		int minX = first.getX(), minY = first.getY(), minZ = first.getZ();
+		int maxX = minX, maxY = minY, maxZ = minZ;
+		int maxSpan = MAX_REGION_SIZE - 2 * SEARCH_RADIUS;
+
+		for (int i = batch.size() - 1; i >= 0; i--) {
+			BlockPos pos = BlockPos.fromLong(batch.getLong(i));
+			int newMinX = Math.min(minX, pos.getX()), newMaxX = Math.max(maxX, pos.getX());
+			int newMinY = Math.min(minY, pos.getY()), newMaxY = Math.max(maxY, pos.getY());
+			int newMinZ = Math.min(minZ, pos.getZ()), newMaxZ = Math.max(maxZ, pos.getZ());
+			if (newMaxX - newMinX < maxSpan && newMaxY - newMinY < maxSpan && newMaxZ - newMinZ < maxSpan) {
+				minX = newMinX;
+				maxX = newMaxX;
+				minY = newMinY;
+				maxY = newMaxY;
+				minZ = newMinZ;
+				maxZ = newMaxZ;
+				region.add(batch.removeLong(i));
+			}
+		}
+	}
+
+	private void checkRegion() {
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+		for (int i = 0; i < region.size(); i++) {
+			BlockPos pos = BlockPos.fromLong(region.getLong(i));
+			minX = Math.min(minX, pos.getX());
+			minY = Math.min(minY, pos.getY());
+			minZ = Math.min(minZ, pos.getZ());
+			maxX = Math.max(maxX, pos.getX());
+			maxY = Math.max(maxY, pos.getY());
+			maxZ = Math.max(maxZ, pos.getZ());
+		}
+
+		BlockPos min = new BlockPos(minX - SEARCH_RADIUS, minY - SEARCH_RADIUS, minZ - SEARCH_RADIUS);
+		BlockPos max = new BlockPos(maxX + SEARCH_RADIUS, maxY + SEARCH_RADIUS, maxZ + SEARCH_RADIUS);
+		if (!world.isAreaLoaded(min.add(-1, -1, -1), max.add(1, 1, 1))) {
+			// the leaves keep their check decay flag and are scheduled again on their next random tick
+			return;
+		}
+
+		int sizeX = max.getX() - min.getX() + 1;
+		int sizeY = max.getY() - min.getY() + 1;
+		int sizeZ = max.getZ() - min.getZ() + 1;
+		int volume = sizeX * sizeY * sizeZ;
+		if (sustainValues.length < volume) {
+			sustainValues = new byte[volume];
+			searchQueue = new int[volume];
+		}
+
+		// classify every block of the region, blocks that sustain leaves start the search
+		int queueEnd = 0;
+		BlockPos.MutableBlockPos blockPos = new BlockPos.MutableBlockPos();
+		for (int x = 0; x < sizeX; x++) {
+			for (int y = 0; y < sizeY; y++) {
+				for (int z = 0; z < sizeZ; z++) {
+					blockPos.setPos(min.getX() + x, min.getY() + y, min.getZ() + z);
+					IBlockState blockState = world.getBlockState(blockPos);
+					Block block = blockState.getBlock();
+					int index = (x * sizeY + y) * sizeZ + z;
+					if (block.canSustainLeaves(blockState, world, blockPos)) {
+						sustainValues[index] = 0;
+						searchQueue[queueEnd++] = index;
+					} else if (block.isLeaves(blockState, world, blockPos)) {
+						sustainValues[index] = IS_LEAVES;
+					} else {
+						sustainValues[index] = NOT_SUSTAINS_LEAVES;
+					}
+				}
+			}
+		}
+
+		// every leaf reached gets its distance to the closest block that sustains it
+		int strideX = sizeY * sizeZ;
+		for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+			int index = searchQueue[queueStart];
+			byte value = sustainValues[index];
+			if (value >= MAX_SUSTAIN_DISTANCE) {
+				continue;
+			}
+			int x = index / strideX;
+			int y = (index / sizeZ) % sizeY;
+			int z = index % sizeZ;
+			byte nextValue = (byte) (value + 1);
+			if (x > 0) {
+				queueEnd = visit(index - strideX, nextValue, queueEnd);
+			}
+			if (x < sizeX - 1) {
+				queueEnd = visit(index + strideX, nextValue, queueEnd);
+			}
+			if (y > 0) {
+				queueEnd = visit(index - sizeZ, nextValue, queueEnd);
+			}
+			if (y < sizeY - 1) {
+				queueEnd = visit(index + sizeZ, nextValue, queueEnd);
+			}
+			if (z > 0) {
+				queueEnd = visit(index - 1, nextValue, queueEnd);
+			}
+			if (z < sizeZ - 1) {
+				queueEnd = visit(index + 1, nextValue, queueEnd);
+			}
+		}
+
+		for (int i = 0; i < region.size(); i++) {
+			BlockPos pos = BlockPos.fromLong(region.getLong(i));
+			IBlockState state = world.getBlockState(pos);
+			if (!state.getProperties().containsKey(BlockLeaves.CHECK_DECAY) || !state.getValue(BlockLeaves.CHECK_DECAY)) {
+				continue;
+			}
+
+			int index = ((pos.getX() - min.getX()) * sizeY + (pos.getY() - min.getY())) * sizeZ + (pos.getZ() - min.getZ());
+			if (sustainValues[index] >= 0) {
+				world.setBlockState(pos, state.withProperty(BlockLeaves.CHECK_DECAY, false), 4); // stop trying to decay
+			} else {
+				state.getBlock().dropBlockAsItem(world, pos, state, 0);
+				world.setBlockToAir(pos);
+			}
+		}
+	}
+
+	private int visit(int index, byte value, int queueEnd) {
+		if (sustainValues[index] == IS_LEAVES) {
+			sustainValues[index] = value;
+			searchQueue[queueEnd++] = index;
+		}
+		return queueEnd;
+	}
+}
@@ -42,6 +42,7 @@ import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.oredict.OreDictionary;
@@ -49,6 +50,7 @@ import net.minecraftforge.oredict.OreDictionary;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInterModComms.IMCMessage;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.fml.common.registry.VillagerRegistry;
 import net.minecraftforge.fml.relauncher.Side;
@@ -284,6 +286,13 @@ public class ModuleArboriculture extends BlankForestryModule {
 		config.save();
 	}
 
+	@Override
+	public void postInit() {
+		if (TreeConfig.getSpawnRarity(null) > 0.0F) {
+			TreeDecorator.prepareSpawnTables();
+		}
+	}
+
 	@Override
 	public void registerCrates() {
 		ICrateRegistry crateRegistry = StorageManager.crateRegistry;
@@ -647,4 +656,16 @@ public class ModuleArboriculture extends BlankForestryModule {
 			}
 		}
 	}
+
+	@SubscribeEvent
+	public void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase == TickEvent.Phase.END && !event.world.isRemote) {
+			LeafDecayScheduler.onWorldTick(event.world);
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		LeafDecayScheduler.onWorldUnloaded(event.getWorld());
+	}
 }
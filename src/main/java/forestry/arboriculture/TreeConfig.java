@@ -4,6 +4,7 @@ import forestry.api.arboriculture.EnumTreeChromosome;
 import forestry.api.arboriculture.IAlleleTreeSpecies;
 import forestry.api.genetics.AlleleManager;
 import forestry.api.genetics.IAllele;
+import forestry.arboriculture.worldgen.TreeDecorator;
 import forestry.core.config.LocalizedConfiguration;
 import forestry.core.utils.Log;
 import net.minecraft.util.ResourceLocation;
@@ -106,6 +107,7 @@ public class TreeConfig {
 			treeConfig = GLOBAL;
 		}
 		treeConfig.blacklistedDimensions.add(dimID);
+		TreeDecorator.invalidateSpawnTables();
 	}
 
 	public static void whitelistTreeDim(@Nullable String treeUID, int dimID) {
@@ -114,6 +116,7 @@ public class TreeConfig {
 			treeConfig = GLOBAL;
 		}
 		treeConfig.whitelistedDimensions.add(dimID);
+		TreeDecorator.invalidateSpawnTables();
 	}
 
 	public static boolean isValidDimension(@Nullable String treeUID, int dimID) {
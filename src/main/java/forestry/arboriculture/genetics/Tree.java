@@ -71,13 +71,13 @@ public class Tree extends Individual implements ITree, IPlantable {
 		super(nbttagcompound);
 
 		if (nbttagcompound.hasKey("Genome")) {
-			this.genome = new TreeGenome(nbttagcompound.getCompoundTag("Genome"));
+			this.genome = TreeGenome.fromNBT(nbttagcompound.getCompoundTag("Genome"));
 		} else {
 			throw new IllegalArgumentException("Nbt has no Genome " + nbttagcompound);
 		}
 
 		if (nbttagcompound.hasKey("Mate")) {
-			mate = new TreeGenome(nbttagcompound.getCompoundTag("Mate"));
+			mate = TreeGenome.fromNBT(nbttagcompound.getCompoundTag("Mate"));
 		}
 	}
 
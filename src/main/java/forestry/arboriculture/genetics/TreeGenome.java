@@ -32,6 +32,7 @@ import forestry.api.genetics.IAlleleSpecies;
 import forestry.api.genetics.IChromosome;
 import forestry.api.genetics.ISpeciesRoot;
 import forestry.core.genetics.Genome;
+import forestry.core.genetics.SpeciesRoot;
 
 public class TreeGenome extends Genome implements ITreeGenome {
 	@Nullable
@@ -45,6 +46,10 @@ public class TreeGenome extends Genome implements ITreeGenome {
 		super(nbttagcompound);
 	}
 
+	public static TreeGenome fromNBT(NBTTagCompound nbtTagCompound) {
+		return ((SpeciesRoot) TreeManager.treeRoot).getCachedGenome(nbtTagCompound, TreeGenome::new);
+	}
+
 	// NBT RETRIEVAL
 	public static IAlleleTreeSpecies getSpecies(ItemStack itemStack) {
 		Preconditions.checkArgument(TreeManager.treeRoot.isMember(itemStack), "ItemStack must be a tree");
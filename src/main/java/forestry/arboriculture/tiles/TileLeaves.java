@@ -59,6 +59,7 @@ import forestry.arboriculture.genetics.TreeDefinition;
 import forestry.arboriculture.network.IRipeningPacketReceiver;
 import forestry.arboriculture.network.PacketRipeningUpdate;
 import forestry.core.network.PacketBufferForestry;
+import forestry.core.network.TileUpdateQueue;
 import forestry.core.network.packets.PacketTileStream;
 import forestry.core.utils.ColourUtil;
 import forestry.core.utils.GeneticsUtil;
@@ -366,7 +367,7 @@ public class TileLeaves extends TileTreeContainer implements IPollinatable, IFru
 		colourFruits = newColourFruits;
 
 		PacketRipeningUpdate ripeningUpdate = new PacketRipeningUpdate(this);
-		NetworkUtil.sendNetworkPacket(ripeningUpdate, pos, world);
+		TileUpdateQueue.queueUpdate(ripeningUpdate, pos, world);
 	}
 
 	private static final short hasFruitFlag = 1;
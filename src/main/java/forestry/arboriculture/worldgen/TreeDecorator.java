@@ -18,7 +18,6 @@ import forestry.arboriculture.commands.TreeGenHelper;
 import forestry.core.utils.BlockUtil;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.biome.Biome;
@@ -28,10 +27,19 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TreeDecorator {
-	private static final List<IAlleleTreeSpecies> SPECIES = new ArrayList<>();
-	private static final Map<ResourceLocation, Set<ITree>> biomeCache = new HashMap<>();
+	/**
+	 * The spawnable trees of every biome, in the order of the allele registry.
+	 * Created once after the trees and the config are loaded, see {@link #prepareSpawnTables()}.
+	 */
+	@Nullable
+	private static volatile Map<Biome, List<ITree>> biomeTrees;
+	/**
+	 * The spawn tables of every biome by dimension id, created on the first decoration in a dimension.
+	 */
+	private static final Map<Integer, Map<Biome, TreeSpawnTable>> spawnTables = new ConcurrentHashMap<>();
 
 	@SubscribeEvent
 	public void decorateTrees(Decorate event) {
@@ -41,37 +49,30 @@ public class TreeDecorator {
 	}
 
 	public static void decorateTrees(World world, Random rand, int worldX, int worldZ) {
-		float globalRarity = TreeConfig.getSpawnRarity(null);
-		if (globalRarity <= 0.0F || !TreeConfig.isValidDimension(null, world.provider.getDimension())) {
+		Map<Biome, TreeSpawnTable> biomeTables = getSpawnTables(world.provider.getDimension());
+		if (biomeTables.isEmpty()) {
 			return;
 		}
-		if (biomeCache.isEmpty()) {
-			generateBiomeCache(world, rand);
-		}
 		for (int tries = 0; tries < 4 + rand.nextInt(2); tries++) {
 			int x = worldX + rand.nextInt(16);
 			int z = worldZ + rand.nextInt(16);
 
-			BlockPos pos = new BlockPos(x, 0, z);
-			Biome biome = world.getBiome(pos);
-			Set<ITree> trees = biomeCache.computeIfAbsent(biome.getRegistryName(), k -> new HashSet<>());
-			for (ITree tree : trees) {
-				String treeUID = tree.getGenome().getPrimary().getUID();
-				if (!TreeConfig.isValidDimension(treeUID, world.provider.getDimension())) {
+			Biome biome = world.getBiome(new BlockPos(x, 0, z));
+			TreeSpawnTable spawnTable = biomeTables.get(biome);
+			if (spawnTable == null) {
+				continue;
+			}
+			for (int index = spawnTable.next(rand, -1); index >= 0; index = spawnTable.next(rand, index)) {
+				ITree tree = spawnTable.getTree(index);
+				BlockPos pos = getValidPos(world, x, z, tree);
+
+				if (pos == null) {
 					continue;
 				}
-				IAlleleTreeSpecies species = tree.getGenome().getPrimary();
-				if (TreeConfig.getSpawnRarity(species.getUID()) * globalRarity >= rand.nextFloat()) {
-					pos = getValidPos(world, x, z, tree);
 
-					if (pos == null) {
-						continue;
-					}
-
-					if (species.getGrowthProvider().canSpawn(tree, world, pos)) {
-						if (TreeGenHelper.generateTree(tree, world, pos)) {
-							return;
-						}
+				if (tree.getGenome().getPrimary().getGrowthProvider().canSpawn(tree, world, pos)) {
+					if (TreeGenHelper.generateTree(tree, world, pos)) {
+						return;
 					}
 				}
 			}
@@ -102,34 +103,147 @@ public class TreeDecorator {
 		return null;
 	}
 
-	private static List<IAlleleTreeSpecies> getSpecies() {
-		if (!SPECIES.isEmpty()) {
-			return SPECIES;
+	/**
+	 * Collects the spawnable trees of every biome. Only reads the registries and the config, so it can run on any thread
+	 * after the trees and the config are loaded.
+	 */
+	public static void prepareSpawnTables() {
+		getBiomeTrees();
+	}
+
+	private static synchronized Map<Biome, List<ITree>> getBiomeTrees() {
+		Map<Biome, List<ITree>> biomeTrees = TreeDecorator.biomeTrees;
+		if (biomeTrees != null) {
+			return biomeTrees;
 		}
+		Map<Biome, List<ITree>> trees = new HashMap<>();
 		for (IAllele allele : AlleleManager.alleleRegistry.getRegisteredAlleles(EnumTreeChromosome.SPECIES)) {
-			if (allele instanceof IAlleleTreeSpecies) {
-				IAlleleTreeSpecies alleleTreeSpecies = (IAlleleTreeSpecies) allele;
-				if (TreeConfig.getSpawnRarity(alleleTreeSpecies.getUID()) > 0) {
-					SPECIES.add(alleleTreeSpecies);
-				}
+			if (!(allele instanceof IAlleleTreeSpecies)) {
+				continue;
+			}
+			IAlleleTreeSpecies species = (IAlleleTreeSpecies) allele;
+			String treeUID = species.getUID();
+			if (TreeConfig.getSpawnRarity(treeUID) <= 0) {
+				continue;
 			}
-		}
-		return SPECIES;
-	}
-
-	private static void generateBiomeCache(World world, Random rand) {
-		for (IAlleleTreeSpecies species : getSpecies()) {
 			IAllele[] template = TreeManager.treeRoot.getTemplate(species);
-			ITreeGenome genome = TreeManager.treeRoot.templateAsGenome(template);
-			ITree tree = TreeManager.treeRoot.getTree(world, genome);
-			String treeUID = genome.getPrimary().getUID();
+			ITree tree = TreeManager.treeRoot.templateAsIndividual(template);
 			IGrowthProvider growthProvider = species.getGrowthProvider();
 			for (Biome biome : Biome.REGISTRY) {
-				Set<ITree> trees = biomeCache.computeIfAbsent(biome.getRegistryName(), k -> new HashSet<>());
 				if (growthProvider.isBiomeValid(tree, biome) && TreeConfig.isValidBiome(treeUID, biome)) {
+					trees.computeIfAbsent(biome, k -> new ArrayList<>()).add(tree);
+				}
+			}
+		}
+		TreeDecorator.biomeTrees = trees;
+		return trees;
+	}
+
+	/**
+	 * Drops the spawn tables of all dimensions, for changes of the dimension config after they were created.
+	 */
+	public static void invalidateSpawnTables() {
+		spawnTables.clear();
+	}
+
+	private static Map<Biome, TreeSpawnTable> getSpawnTables(int dimension) {
+		Map<Biome, TreeSpawnTable> tables = spawnTables.get(dimension);
+		if (tables == null) {
+			tables = createSpawnTables(dimension);
+			spawnTables.put(dimension, tables);
+		}
+		return tables;
+	}
+
+	private static Map<Biome, TreeSpawnTable> createSpawnTables(int dimension) {
+		float globalRarity = TreeConfig.getSpawnRarity(null);
+		if (globalRarity <= 0.0F || !TreeConfig.isValidDimension(null, dimension)) {
+			return Collections.emptyMap();
+		}
+		Map<Biome, TreeSpawnTable> tables = new HashMap<>();
+		for (Map.Entry<Biome, List<ITree>> entry : getBiomeTrees().entrySet()) {
+			List<ITree> trees = new ArrayList<>();
+			for (ITree tree : entry.getValue()) {
+				if (TreeConfig.isValidDimension(tree.getGenome().getPrimary().getUID(), dimension)) {
 					trees.add(tree);
 				}
 			}
+			if (!trees.isEmpty()) {
+				tables.put(entry.getKey(), new TreeSpawnTable(trees, globalRarity));
+			}
+		}
+		return tables;
+	}
+
+	/**
+	 * The trees of a biome with the chances that the spawn rolls of a run of trees all fail, when every tree rolls
+	 * against its rarity in order.
+	 * <p>
+	 * {@link #next(Random, int)} picks the next tree with one binary search instead of one roll per tree. The chances of
+	 * every tree are the same as with the rolls, also for the trees after one that could not be placed.
+	 */
+	private static final class TreeSpawnTable {
+		private final ITree[] trees;
+		/**
+		 * The chance that the rolls of every tree up to the index fail, counted from the tree after the last tree that
+		 * always succeeds. A tree that always succeeds has a chance of 0.
+		 */
+		private final double[] failChances;
+		/**
+		 * The index of the first tree at or after the index that always succeeds, or the amount of trees.
+		 */
+		private final int[] segmentEnds;
+
+		private TreeSpawnTable(List<ITree> trees, float globalRarity) {
+			this.trees = trees.toArray(new ITree[0]);
+			this.failChances = new double[this.trees.length];
+			this.segmentEnds = new int[this.trees.length];
+			double failChance = 1.0;
+			for (int i = 0; i < this.trees.length; i++) {
+				String treeUID = this.trees[i].getGenome().getPrimary().getUID();
+				double chance = Math.min(1.0, Math.max(0.0, TreeConfig.getSpawnRarity(treeUID) * globalRarity));
+				failChance *= 1.0 - chance;
+				failChances[i] = failChance;
+				if (failChance <= 0.0) {
+					failChance = 1.0;
+				}
+			}
+			int segmentEnd = this.trees.length;
+			for (int i = this.trees.length - 1; i >= 0; i--) {
+				if (failChances[i] <= 0.0) {
+					segmentEnd = i;
+				}
+				segmentEnds[i] = segmentEnd;
+			}
+		}
+
+		private ITree getTree(int index) {
+			return trees[index];
+		}
+
+		/**
+		 * @return the index of the next tree after the given index whose spawn roll succeeds, or -1 if no roll succeeds.
+		 */
+		private int next(Random rand, int previous) {
+			int start = previous + 1;
+			if (start >= trees.length) {
+				return -1;
+			}
+			// the rolls from the start up to a tree all fail with failChances[tree] / startChance
+			double startChance = previous < 0 || failChances[previous] <= 0.0 ? 1.0 : failChances[previous];
+			double roll = startChance * (1.0 - rand.nextDouble());
+			int end = Math.min(segmentEnds[start] + 1, trees.length);
+			int low = start;
+			int high = end;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (failChances[middle] < roll) {
+					high = middle;
+				} else {
+					low = middle + 1;
+				}
+			}
+			return low < end ? low : -1;
 		}
 	}
 }
@@ -43,6 +43,7 @@ import forestry.apiculture.ApiaristAI;
 import forestry.apiculture.ModuleApiculture;
 import forestry.core.config.Constants;
 import forestry.core.errors.ErrorStateRegistry;
+import forestry.core.genetics.BreedingTracker;
 import forestry.core.models.ModelBlockCached;
 import forestry.core.models.ModelBlockCustomCached;
 import forestry.core.render.TextureManagerForestry;
@@ -73,6 +74,17 @@ public class EventHandlerCore {
 		syncBreedingTrackers(player);
 	}
 
+	@SubscribeEvent
+	public void handlePlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+		EntityPlayer player = event.player;
+		for (ISpeciesRoot speciesRoot : AlleleManager.alleleRegistry.getSpeciesRoot().values()) {
+			IBreedingTracker breedingTracker = speciesRoot.getBreedingTracker(player.getEntityWorld(), player.getGameProfile());
+			if (breedingTracker instanceof BreedingTracker) {
+				((BreedingTracker) breedingTracker).onPlayerLoggedOut(player);
+			}
+		}
+	}
+
 	@SubscribeEvent
 	public void handlePlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
 		EntityPlayer player = event.player;
@@ -14,6 +14,11 @@ import net.minecraft.entity.player.EntityPlayer;
 
 public interface IResupplyHandler {
 
-	void resupply(EntityPlayer player);
+	/**
+	 * Called by the {@link ResupplyScheduler} after the player used up or moved items.
+	 *
+	 * @return true if items were moved into the player inventory, the handler is called again in the next tick then.
+	 */
+	boolean resupply(EntityPlayer player);
 
 }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+
+import net.minecraftforge.event.entity.item.ItemTossEvent;
+import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
+import net.minecraftforge.event.entity.player.ArrowLooseEvent;
+import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
+import net.minecraftforge.event.entity.player.PlayerContainerEvent;
+import net.minecraftforge.event.entity.player.PlayerDestroyItemEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import forestry.core.config.Config;
+import forestry.modules.ModuleManager;
+
+/**
+ * Decides when the {@link IResupplyHandler}s run for a player, instead of running them for every player in every tick.
+ * <p>
+ * Players are marked for a resupply by the events that use up or move their items: interacting with blocks, items
+ * and entities, finishing to use an item, shooting a bow, breaking a tool, tossing or picking up items and closing a container.
+ * A player stays marked as long as the handlers move items, because stacks are topped off one item at a time.
+ * Items that are used up without an event are caught by a recheck every {@link #RECHECK_INTERVAL} ticks.
+ * At most {@link #MAX_RESUPPLIES_PER_TICK} players of a world are resupplied per tick, the others wait for the next tick.
+ * <p>
+ * Only used on the server.
+ */
+public class ResupplyScheduler {
+	private static final int MAX_RESUPPLIES_PER_TICK = 16;
+	private static final int RECHECK_INTERVAL = 100;
+
+	// player entities are replaced on respawn and dimension change, new entities start marked
+	private static final Map<EntityPlayer, ResupplyState> states = new WeakHashMap<>();
+
+	public static void markForResupply(EntityPlayer player) {
+		if (!player.world.isRemote) {
+			getState(player).marked = true;
+		}
+	}
+
+	private static ResupplyState getState(EntityPlayer player) {
+		return states.computeIfAbsent(player, p -> new ResupplyState());
+	}
+
+	@SubscribeEvent
+	public void onWorldTick(TickEvent.WorldTickEvent event) {
+		World world = event.world;
+		if (event.phase != TickEvent.Phase.END || world.isRemote || !Config.enableBackpackResupply) {
+			return;
+		}
+
+		List<EntityPlayer> players = world.playerEntities;
+		int playerCount = players.size();
+		if (playerCount == 0) {
+			return;
+		}
+
+		long worldTime = world.getTotalWorldTime();
+		// rotate the first player, so a used up budget does not delay the same players every tick
+		int start = (int) (worldTime % playerCount);
+		int budget = MAX_RESUPPLIES_PER_TICK;
+		for (int i = 0; i < playerCount && budget > 0; i++) {
+			EntityPlayer player = players.get((start + i) % playerCount);
+			ResupplyState state = getState(player);
+			if (!state.marked && worldTime - state.lastResupply < RECHECK_INTERVAL) {
+				continue;
+			}
+
+			budget--;
+			state.lastResupply = worldTime;
+			boolean resupplied = false;
+			for (IResupplyHandler handler : ModuleManager.resupplyHandlers) {
+				resupplied |= handler.resupply(player);
+			}
+			state.marked = resupplied;
+		}
+	}
+
+	@SubscribeEvent
+	public void onRightClickBlock(PlayerInteractEvent.RightClickBlock event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onRightClickItem(PlayerInteractEvent.RightClickItem event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onEntityInteract(PlayerInteractEvent.EntityInteract event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onItemUseFinish(LivingEntityUseItemEvent.Finish event) {
+		EntityLivingBase entity = event.getEntityLiving();
+		if (entity instanceof EntityPlayer) {
+			markForResupply((EntityPlayer) entity);
+		}
+	}
+
+	@SubscribeEvent
+	public void onArrowLoose(ArrowLooseEvent event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onItemDestroyed(PlayerDestroyItemEvent event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onItemToss(ItemTossEvent event) {
+		markForResupply(event.getPlayer());
+	}
+
+	@SubscribeEvent
+	public void onItemPickup(EntityItemPickupEvent event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	@SubscribeEvent
+	public void onContainerClose(PlayerContainerEvent.Close event) {
+		markForResupply(event.getEntityPlayer());
+	}
+
+	private static class ResupplyState {
+		private boolean marked = true;
+		private long lastResupply;
+	}
+}
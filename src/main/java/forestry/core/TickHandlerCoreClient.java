@@ -20,6 +20,7 @@ import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import forestry.core.network.packets.PacketGenomeTrackerSync;
 import forestry.core.utils.GeneticsUtil;
 
 @SideOnly(Side.CLIENT)
@@ -32,6 +33,9 @@ public class TickHandlerCoreClient {
 		if (event.phase == Phase.END) {
 			Minecraft minecraft = Minecraft.getMinecraft();
 			if (minecraft != null) {
+				if (minecraft.world == null) {
+					PacketGenomeTrackerSync.Handler.clearSyncedTrackers();
+				}
 				EntityPlayer player = minecraft.player;
 				if (player != null) {
 					boolean hasNaturalistEye = GeneticsUtil.hasNaturalistEye(player);
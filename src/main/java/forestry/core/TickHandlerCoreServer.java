@@ -10,13 +10,8 @@
  ******************************************************************************/
 package forestry.core;
 
-import com.google.common.collect.LinkedListMultimap;
-
-import java.util.Iterator;
-import java.util.List;
 import java.util.Random;
 
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -26,6 +21,7 @@ import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.IChunkGenerator;
 
 import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
@@ -34,17 +30,14 @@ import net.minecraftforge.fml.common.registry.GameRegistry;
 
 import forestry.core.config.Config;
 import forestry.core.config.Constants;
+import forestry.core.utils.Log;
+import forestry.core.worldgen.RetrogenQueue;
 import forestry.core.worldgen.WorldGenerator;
-import forestry.modules.ModuleManager;
-
-import it.unimi.dsi.fastutil.ints.IntArraySet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class TickHandlerCoreServer {
+	private static final int RETROGEN_LOG_INTERVAL = 20 * 60;
 
 	private final WorldGenerator worldGenerator;
-	private final LinkedListMultimap<Integer, ChunkCoords> chunkRegenList = LinkedListMultimap.create();
-	private final IntSet checkForRetrogen = new IntArraySet();
 
 	public TickHandlerCoreServer(WorldGenerator worldGenerator) {
 		this.worldGenerator = worldGenerator;
@@ -56,51 +49,64 @@ public class TickHandlerCoreServer {
 			return;
 		}
 
-		if (Config.enableBackpackResupply) {
-			for (Object obj : event.world.playerEntities) {
-				EntityPlayer player = (EntityPlayer) obj;
-				for (IResupplyHandler handler : ModuleManager.resupplyHandlers) {
-					handler.resupply(player);
-				}
+		if (Config.doRetrogen && event.world instanceof WorldServer) {
+			WorldServer world = (WorldServer) event.world;
+			RetrogenQueue queue = RetrogenQueue.get(world);
+			if (queue.hasLoadedChunks()) {
+				runRetrogen(world, queue);
 			}
 		}
+	}
 
-		if (Config.doRetrogen && event.world instanceof WorldServer) {
-			WorldServer world = (WorldServer) event.world;
-			int dimensionID = world.provider.getDimension();
-			if (checkForRetrogen.contains(dimensionID)) {
-				List<ChunkCoords> chunkList = chunkRegenList.get(dimensionID);
-				Iterator<ChunkCoords> iterator = chunkList.iterator();
-				while (iterator.hasNext()) {
-					ChunkCoords coords = iterator.next();
-					if (canDecorate(world, coords)) {
-						iterator.remove();
-						Random random = getRetrogenRandom(world, coords);
-						worldGenerator.retroGen(random, coords.x, coords.z, world);
-					}
-				}
-				checkForRetrogen.remove(dimensionID);
+	/**
+	 * Runs the retrogen of the loaded chunks of the queue until the time budget of the tick is used up.
+	 * Chunks whose neighbours are not loaded yet are tried again after the other chunks.
+	 */
+	private void runRetrogen(WorldServer world, RetrogenQueue queue) {
+		long startTime = System.nanoTime();
+		long deadline = startTime + Config.retrogenTickBudget * 1000L;
+		long processedBefore = queue.getProcessedChunkCount();
+		for (int i = queue.getLoadedChunkCount(); i > 0 && queue.hasLoadedChunks(); i--) {
+			long chunkKey = queue.pollLoadedChunk();
+			int chunkX = (int) chunkKey;
+			int chunkZ = (int) (chunkKey >>> 32);
+			if (!canDecorate(world, chunkX, chunkZ)) {
+				queue.retry(chunkKey);
+			} else {
+				long chunkStartTime = System.nanoTime();
+				Random random = getRetrogenRandom(world, chunkX, chunkZ);
+				worldGenerator.retroGen(random, chunkX, chunkZ, world);
+				queue.onRetrogen(chunkKey, System.nanoTime() - chunkStartTime);
 			}
+			if (System.nanoTime() >= deadline) {
+				break;
+			}
+		}
+
+		long processed = queue.getProcessedChunkCount();
+		if (processed != processedBefore && (world.getTotalWorldTime() % RETROGEN_LOG_INTERVAL == 0 || queue.getPendingChunkCount() == 0)) {
+			Log.info("Retrogen in dimension {}: {} chunks done, {} chunks pending ({} loaded), {} microseconds per chunk.",
+				world.provider.getDimension(), processed, queue.getPendingChunkCount(), queue.getLoadedChunkCount(), queue.getAverageRetrogenMicros());
 		}
 	}
 
 	/**
 	 * This is from {@link GameRegistry#generateWorld(int, int, World, IChunkGenerator, IChunkProvider)} where the seed is constructed.
 	 */
-	private static Random getRetrogenRandom(World world, ChunkCoords coords) {
+	private static Random getRetrogenRandom(World world, int chunkX, int chunkZ) {
 		long worldSeed = world.getSeed();
 		Random random = new Random(worldSeed);
 		long xSeed = random.nextLong() >> 2 + 1L;
 		long zSeed = random.nextLong() >> 2 + 1L;
-		random.setSeed(xSeed * coords.x + zSeed * coords.z ^ worldSeed);
+		random.setSeed(xSeed * chunkX + zSeed * chunkZ ^ worldSeed);
 		return random;
 	}
 
-	private static boolean canDecorate(WorldServer server, ChunkCoords chunkCoords) {
+	private static boolean canDecorate(WorldServer server, int chunkX, int chunkZ) {
 		ChunkProviderServer chunkProvider = server.getChunkProvider();
 		for (int x = 0; x <= 1; x++) {
 			for (int z = 0; z <= 1; z++) {
-				if (!chunkProvider.chunkExists(chunkCoords.x + x, chunkCoords.z + z)) {
+				if (!chunkProvider.chunkExists(chunkX + x, chunkZ + z)) {
 					return false;
 				}
 			}
@@ -112,7 +118,11 @@ public class TickHandlerCoreServer {
 	public void chunkSaveEventHandler(ChunkDataEvent.Save event) {
 		NBTTagCompound tag = new NBTTagCompound();
 		if (Config.doRetrogen) {
-			tag.setBoolean("retrogen", true);
+			Chunk chunk = event.getChunk();
+			// chunks that are still queued get queued again when they are loaded
+			if (!RetrogenQueue.get(chunk.getWorld()).isPending(chunk.x, chunk.z)) {
+				tag.setBoolean("retrogen", true);
+			}
 		}
 
 		event.getData().setTag(Constants.MOD_ID, tag);
@@ -122,26 +132,25 @@ public class TickHandlerCoreServer {
 	public void chunkLoadEventHandler(ChunkDataEvent.Load event) {
 		if (Config.doRetrogen) {
 			NBTTagCompound eventData = event.getData();
+			Chunk chunk = event.getChunk();
+			RetrogenQueue queue = RetrogenQueue.get(chunk.getWorld());
 			if (eventData.hasKey(Constants.MOD_ID)) {
 				NBTTagCompound tag = (NBTTagCompound) eventData.getTag(Constants.MOD_ID);
 				if (!tag.hasKey("retrogen") || Config.forceRetrogen) {
-					ChunkCoords coords = new ChunkCoords(event.getChunk());
-					chunkRegenList.put(coords.dimension, coords);
-					checkForRetrogen.add(coords.dimension);
+					queue.addChunk(chunk.x, chunk.z);
+					return;
 				}
 			}
+			queue.onChunkLoaded(chunk.x, chunk.z);
 		}
 	}
 
-	private static class ChunkCoords {
-		public final int dimension;
-		public final int x;
-		public final int z;
-
-		public ChunkCoords(Chunk chunk) {
-			this.dimension = chunk.getWorld().provider.getDimension();
-			this.x = chunk.x;
-			this.z = chunk.z;
+	@SubscribeEvent
+	public void chunkUnloadEventHandler(ChunkEvent.Unload event) {
+		World world = event.getWorld();
+		if (Config.doRetrogen && !world.isRemote) {
+			Chunk chunk = event.getChunk();
+			RetrogenQueue.get(world).onChunkUnloaded(chunk.x, chunk.z);
 		}
 	}
 
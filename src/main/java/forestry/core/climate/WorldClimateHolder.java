@@ -2,9 +2,6 @@ package forestry.core.climate;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -24,10 +21,13 @@ import forestry.api.climate.Position2D;
 import forestry.api.core.INbtWritable;
 import forestry.core.utils.NBTUtilForestry;
 
-import it.unimi.dsi.fastutil.longs.Long2LongArrayMap;
 import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 
 public class WorldClimateHolder extends WorldSavedData implements IWorldClimateHolder {
 	private static final TransformerData DEFAULT_DATA = new TransformerData(0L, ClimateStateHelper.INSTANCE.absent(), 0, false, new long[0]);
@@ -45,7 +45,12 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 
 	private final Long2ObjectMap<TransformerData> transformers = new Long2ObjectOpenHashMap<>();
 	private final Long2ObjectMap<long[]> transformersByChunk = new Long2ObjectOpenHashMap<>();
-	private final Long2LongMap chunkUpdates = new Long2LongArrayMap();
+	private final Long2LongMap chunkUpdates = new Long2LongOpenHashMap();
+	/**
+	 * The climate of the columns of chunks with transformers, see {@link #getState(BlockPos)}.
+	 * The field of a chunk is dropped when a transformer of the chunk is added, removed or changes its range or climate.
+	 */
+	private final Long2ObjectMap<ClimateField> climateFields = new Long2ObjectOpenHashMap<>();
 
 	@Nullable
 	private World world;
@@ -61,6 +66,8 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 	@Override
 	public void readFromNBT(NBTTagCompound nbt) {
 		transformers.clear();
+		transformersByChunk.clear();
+		climateFields.clear();
 		NBTTagList transformerData = nbt.getTagList(TRANSFORMERS_KEY, Constants.NBT.TAG_COMPOUND);
 		for (int i = 0; i < transformerData.tagCount(); i++) {
 			NBTTagCompound tagCompound = transformerData.getCompoundTagAt(i);
@@ -79,15 +86,17 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 	@Override
 	public NBTTagCompound writeToNBT(NBTTagCompound compound) {
 		NBTTagList transformerData = new NBTTagList();
-		for (Map.Entry<Long, TransformerData> entry : transformers.entrySet()) {
-			TransformerData data = entry.getValue();
+		for (TransformerData data : transformers.values()) {
 			transformerData.appendTag(data.writeToNBT(new NBTTagCompound()));
 		}
 		compound.setTag(TRANSFORMERS_KEY, transformerData);
 		NBTTagList chunkData = new NBTTagList();
-		for (Map.Entry<Long, long[]> entry : transformersByChunk.entrySet()) {
+		// iterates the map without boxing the keys or creating a new entry per chunk
+		ObjectIterator<Long2ObjectMap.Entry<long[]>> iterator = ((Long2ObjectMap.FastEntrySet<long[]>) transformersByChunk.long2ObjectEntrySet()).fastIterator();
+		while (iterator.hasNext()) {
+			Long2ObjectMap.Entry<long[]> entry = iterator.next();
 			NBTTagCompound tagCompound = new NBTTagCompound();
-			tagCompound.setLong(POS_KEY, entry.getKey());
+			tagCompound.setLong(POS_KEY, entry.getLongKey());
 			tagCompound.setTag(TRANSFORMERS_DATA_KEY, new NBTTagLongArray(entry.getValue()));
 			chunkData.appendTag(tagCompound);
 		}
@@ -116,6 +125,7 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 		}
 		newData[newData.length - 1] = transformerPos;
 		transformersByChunk.put(chunkPos, newData);
+		climateFields.remove(chunkPos);
 		setDirty(true);
 		markChunkUpdate(chunkPos);
 	}
@@ -135,6 +145,7 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 					long[] newData = Arrays.copyOf(oldData, oldData.length - 1);
 					transformersByChunk.put(chunkPos, newData);
 				}
+				climateFields.remove(chunkPos);
 				setDirty(true);
 				markChunkUpdate(chunkPos);
 				return;
@@ -156,7 +167,16 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 		if (data != null) {
 			boolean needChunkUpdate = data.range != transformer.getRange() || data.circular != transformer.isCircular() || data.chunks.length == 0;
 			boolean needClimateUpdate = !data.climateState.equals(transformer.getCurrent());
-			data.climateState = transformer.getCurrent().toImmutable();
+			if (!needChunkUpdate && !needClimateUpdate) {
+				// nothing changed, the data does not have to be saved again
+				return;
+			}
+			if (needClimateUpdate) {
+				data.climateState = transformer.getCurrent().toImmutable();
+			}
+			for (long chunkPos : data.chunks) {
+				climateFields.remove(chunkPos);
+			}
 			if (needChunkUpdate) {
 				data.circular = transformer.isCircular();
 				data.range = transformer.getRange();
@@ -177,7 +197,7 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 		BlockPos transformerPos = transformer.getCoordinates();
 		long longPos = transformerPos.toLong();
 		int range = transformer.getRange();
-		Set<Long> chunkSet = new HashSet<>();
+		LongSet chunkSet = new LongLinkedOpenHashSet();
 		for (int x = transformerPos.getX() - range; x <= transformerPos.getX() + range; x += 16) {
 			for (int z = transformerPos.getZ() - range; z <= transformerPos.getZ() + range; z += 16) {
 				int chunkX = x >> 4;
@@ -190,7 +210,7 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 				}
 			}
 		}
-		return chunkSet.stream().mapToLong(l -> l).toArray();
+		return chunkSet.toLongArray();
 	}
 
 	@Override
@@ -233,21 +253,66 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 		return MathHelper.abs(blockPos.getX() - pos.getX()) <= range && MathHelper.abs(blockPos.getZ() - pos.getZ()) <= range;
 	}
 
+	/**
+	 * The climate of a column is the average climate of all transformers of the chunk that have the column in range.
+	 * It is computed on the first lookup of the column and kept in the climate field of the chunk, later lookups only
+	 * read the field.
+	 */
 	@Override
 	public IClimateState getState(BlockPos pos) {
 		long chunkPos = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
-		if (!transformersByChunk.containsKey(chunkPos)) {
+		long[] chunkTransformers = transformersByChunk.get(chunkPos);
+		if (chunkTransformers == null) {
 			return ClimateStateHelper.INSTANCE.absent();
 		}
-		double transformerCount = 0;
-		IClimateState state = ClimateStateHelper.INSTANCE.mutableZero();
-		for (long transformerPos : transformersByChunk.get(chunkPos)) {
-			if (isPositionInTransformerRange(transformerPos, new Position2D(pos))) {
-				state = state.add(getClimate(transformerPos));
+		ClimateField field = climateFields.get(chunkPos);
+		if (field == null) {
+			field = new ClimateField();
+			climateFields.put(chunkPos, field);
+		}
+		int index = (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+		IClimateState state = field.states[index];
+		if (state == null) {
+			state = computeState(chunkTransformers, pos.getX(), pos.getZ());
+			field.states[index] = state;
+		}
+		return state;
+	}
+
+	private IClimateState computeState(long[] chunkTransformers, int x, int z) {
+		float temperature = 0.0F;
+		float humidity = 0.0F;
+		int transformerCount = 0;
+		for (long transformerPos : chunkTransformers) {
+			TransformerData data = transformers.getOrDefault(transformerPos, DEFAULT_DATA);
+			if (isInRange(transformerPos, data, x, z)) {
+				temperature += data.climateState.getTemperature();
+				humidity += data.climateState.getHumidity();
 				transformerCount++;
 			}
 		}
-		return transformerCount > 0 ? state.multiply(1.0D / transformerCount).toImmutable() : ClimateStateHelper.INSTANCE.absent();
+		if (transformerCount == 0) {
+			return ClimateStateHelper.INSTANCE.absent();
+		}
+		double factor = 1.0D / transformerCount;
+		temperature *= factor;
+		humidity *= factor;
+		return ClimateStateHelper.INSTANCE.create(temperature, humidity, false);
+	}
+
+	/**
+	 * Same as {@link #isPositionInTransformerRange(long, Position2D)} without the lookup of the transformer data.
+	 */
+	private static boolean isInRange(long transformerPos, TransformerData data, int x, int z) {
+		int range = data.range;
+		// unpacks the coordinates of BlockPos#toLong
+		int dx = x - (int) (transformerPos >> 38);
+		int dz = z - (int) (transformerPos << 38 >> 38);
+		if (data.circular) {
+			double distance = Math.round(Math.sqrt((double) dx * dx + (double) dz * dz));
+			return range > 0.0F && distance <= range;
+		}
+		return MathHelper.abs(dx) <= range && MathHelper.abs(dz) <= range;
 	}
 
 	@Override
@@ -265,6 +330,11 @@ public class WorldClimateHolder extends WorldSavedData implements IWorldClimateH
 		return chunkUpdates.get(chunkPos);
 	}
 
+	private static class ClimateField {
+		/* The climate of the columns of the chunk, by (z << 4 | x), null if not computed yet */
+		private final IClimateState[] states = new IClimateState[256];
+	}
+
 	private static class TransformerData implements INbtWritable {
 		private IClimateState climateState = ClimateStateHelper.INSTANCE.absent();
 		private int range;
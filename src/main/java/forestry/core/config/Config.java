@@ -91,6 +91,7 @@ public class Config {
 	// Retrogen
 	public static boolean doRetrogen = false;
 	public static boolean forceRetrogen = false;
+	public static int retrogenTickBudget = 5000;
 
 	// Performance
 	public static boolean enableBackpackResupply = true;
@@ -237,6 +238,7 @@ public class Config {
 
 		doRetrogen = configCommon.getBooleanLocalized("world.generate.retrogen", "normal", doRetrogen);
 		forceRetrogen = configCommon.getBooleanLocalized("world.generate.retrogen", "forced", forceRetrogen);
+		retrogenTickBudget = configCommon.getIntLocalized("world.generate.retrogen", "budget", retrogenTickBudget, 100, 50000);
 
 		if (forceRetrogen) {
 			Property property = configCommon.get("world.generate.retrogen", "forced", false);
@@ -12,8 +12,8 @@ package forestry.core.errors;
 
 import com.google.common.collect.ImmutableSet;
 
-import java.util.HashSet;
-import java.util.Set;
+import javax.annotation.Nullable;
+import java.util.BitSet;
 
 import net.minecraft.network.PacketBuffer;
 
@@ -21,25 +21,49 @@ import forestry.api.core.ForestryAPI;
 import forestry.api.core.IErrorLogic;
 import forestry.api.core.IErrorState;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Keeps the active error states as a bitset of their ids.
+ * <p>
+ * {@link #getRevision()} changes only when the active error states differ from the previous revision, so a machine
+ * can clear and set its errors every tick and containers still only send an update when the errors really changed.
+ */
 public class ErrorLogic implements IErrorLogic {
-	private final Set<IErrorState> errorStates = new HashSet<>();
+	private final BitSet errorStates = new BitSet();
+	// the error states of the current revision
+	private final BitSet revisionStates = new BitSet();
+	// the error states that were set, by index, so states that are not in the registry are kept too
+	private final Int2ObjectMap<IErrorState> errorStateInstances = new Int2ObjectOpenHashMap<>();
+	private boolean modified;
+	private int revision;
+	@Nullable
+	private ImmutableSet<IErrorState> revisionErrorStates;
+
+	private static int getIndex(IErrorState errorState) {
+		return errorState.getID() & 0xFFFF;
+	}
 
 	@Override
 	public final boolean setCondition(boolean condition, IErrorState errorState) {
 		if (errorState == null) {
 			return false;
 		}
-		if (condition) {
-			errorStates.add(errorState);
-		} else {
-			errorStates.remove(errorState);
+		int index = getIndex(errorState);
+		if (errorStates.get(index) != condition) {
+			errorStates.set(index, condition);
+			modified = true;
+			if (condition) {
+				errorStateInstances.put(index, errorState);
+			}
 		}
 		return condition;
 	}
 
 	@Override
 	public final boolean contains(IErrorState state) {
-		return errorStates.contains(state);
+		return errorStates.get(getIndex(state));
 	}
 
 	@Override
@@ -49,19 +73,46 @@ public class ErrorLogic implements IErrorLogic {
 
 	@Override
 	public final ImmutableSet<IErrorState> getErrorStates() {
-		return ImmutableSet.copyOf(errorStates);
+		getRevision();
+		if (revisionErrorStates == null) {
+			ImmutableSet.Builder<IErrorState> builder = ImmutableSet.builder();
+			for (int index = revisionStates.nextSetBit(0); index >= 0; index = revisionStates.nextSetBit(index + 1)) {
+				builder.add(errorStateInstances.get(index));
+			}
+			revisionErrorStates = builder.build();
+		}
+		return revisionErrorStates;
+	}
+
+	/**
+	 * @return a number that changes every time the active error states change.
+	 */
+	public final int getRevision() {
+		if (modified) {
+			modified = false;
+			if (!errorStates.equals(revisionStates)) {
+				revisionStates.clear();
+				revisionStates.or(errorStates);
+				revisionErrorStates = null;
+				revision++;
+			}
+		}
+		return revision;
 	}
 
 	@Override
 	public void clearErrors() {
-		errorStates.clear();
+		if (!errorStates.isEmpty()) {
+			errorStates.clear();
+			modified = true;
+		}
 	}
 
 	@Override
 	public void writeData(PacketBuffer data) {
-		data.writeShort(errorStates.size());
-		for (IErrorState errorState : errorStates) {
-			data.writeShort(errorState.getID());
+		data.writeShort(errorStates.cardinality());
+		for (int index = errorStates.nextSetBit(0); index >= 0; index = errorStates.nextSetBit(index + 1)) {
+			data.writeShort(index);
 		}
 	}
 
@@ -74,7 +125,7 @@ public class ErrorLogic implements IErrorLogic {
 			short errorStateId = data.readShort();
 			IErrorState errorState = ForestryAPI.errorStateRegistry.getErrorState(errorStateId);
 			if (errorState != null) {
-				errorStates.add(errorState);
+				setCondition(true, errorState);
 			}
 		}
 	}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.errors;
+
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+
+import forestry.api.core.IErrorLogic;
+import forestry.api.core.IErrorState;
+
+/**
+ * Remembers the error states a container sent last, to only send them again when they changed.
+ * For an {@link ErrorLogic} only its revision is compared, other error logics compare their error states.
+ */
+public class ErrorStateTracker {
+	@Nullable
+	private IErrorLogic previousErrorLogic;
+	private int previousErrorRevision;
+	@Nullable
+	private ImmutableSet<IErrorState> previousErrorStates;
+
+	/**
+	 * @return true if the error states of the error logic changed since the last call.
+	 */
+	public boolean hasChanged(IErrorLogic errorLogic) {
+		boolean changed;
+		if (errorLogic instanceof ErrorLogic) {
+			int errorRevision = ((ErrorLogic) errorLogic).getRevision();
+			changed = errorLogic != previousErrorLogic || errorRevision != previousErrorRevision;
+			previousErrorRevision = errorRevision;
+			previousErrorStates = null;
+		} else {
+			ImmutableSet<IErrorState> errorStates = errorLogic.getErrorStates();
+			changed = errorLogic != previousErrorLogic || previousErrorStates == null || !errorStates.equals(previousErrorStates);
+			previousErrorStates = errorStates;
+		}
+		previousErrorLogic = errorLogic;
+		return changed;
+	}
+}
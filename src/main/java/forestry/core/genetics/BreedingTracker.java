@@ -11,11 +11,17 @@
 package forestry.core.genetics;
 
 import javax.annotation.Nullable;
+import java.util.AbstractSet;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.UUID;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -39,6 +45,9 @@ import forestry.core.advancements.SpeciesDiscoveredTrigger;
 import forestry.core.network.packets.PacketGenomeTrackerSync;
 import forestry.core.utils.NetworkUtil;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
 public abstract class BreedingTracker extends WorldSavedData implements IBreedingTracker {
 
 	private static final String SPECIES_COUNT_KEY = "SpeciesCount";
@@ -48,16 +57,42 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 	private static final String MUTATIONS_KEY = "MD";
 	private static final String RESEARCHED_KEY = "RD";
 	private static final String MODE_NAME_KEY = "BMS";
-	private static final String MUTATION_FORMAT = "%s-%s=%s";
-	private static final Collection<String> emptyStringCollection = Collections.emptyList();
+	private static final Random epochRandom = new Random();
 
 	public static final String TYPE_KEY = "TYPE";
 
-	private final Set<String> discoveredSpecies = new HashSet<>();
-	private final Set<String> discoveredMutations = new HashSet<>();
-	private final Set<String> researchedMutations = new HashSet<>();
+	/* Kinds of the entries of the discovery log and the sync packets */
+	public static final int DISCOVERED_SPECIES = 0;
+	public static final int DISCOVERED_MUTATION = 1;
+	public static final int RESEARCHED_MUTATION = 2;
+	/* Minimum ticks between two full syncs that were requested by the client of a player */
+	private static final int FULL_SYNC_REQUEST_INTERVAL = 20;
+
+	/* Discoveries by the ids of their keys, see {@link BreedingTrackerKeys} */
+	private final BitSet discoveredSpecies = new BitSet();
+	private final BitSet discoveredMutations = new BitSet();
+	private final BitSet researchedMutations = new BitSet();
+	private final Set<String> discoveredSpeciesView = new KeySetView(discoveredSpecies);
 	private String modeName;
 
+	/* SYNC */
+	/**
+	 * Discoveries since the tracker was loaded, in order, as {@link #encodeEntry(int, int)}.
+	 * The size of the log is the revision of the tracker.
+	 */
+	private final IntList discoveryLog = new IntArrayList();
+	/**
+	 * Identifies the discovery log of this tracker instance, a client that synced with another instance needs a full sync.
+	 */
+	private final long epoch = epochRandom.nextLong();
+	/**
+	 * The sync state of every player that received this tracker, by player id.
+	 */
+	private final Map<UUID, PlayerSyncState> playerSyncStates = new HashMap<>();
+	/* Client only, the epoch and revision of the server tracker this tracker was last synced with */
+	private long syncedEpoch;
+	private int syncedRevision = -1;
+
 	@Nullable
 	private GameProfile username;
 	@Nullable
@@ -100,6 +135,10 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 	 */
 	protected abstract String speciesRootUID();
 
+	/**
+	 * Sends the discoveries the player has not received yet, or everything if the player never received this tracker.
+	 * Called when the player logs in or changes the dimension.
+	 */
 	@Override
 	public void synchToPlayer(EntityPlayer player) {
 		if (player instanceof EntityPlayerMP && !(player instanceof FakePlayer)) {
@@ -107,31 +146,191 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 			String modeName = breedingTracker.getModeName();
 			setModeName(modeName);
 
-			NBTTagCompound nbttagcompound = new NBTTagCompound();
-			encodeToNBT(nbttagcompound);
-			PacketGenomeTrackerSync packet = new PacketGenomeTrackerSync(nbttagcompound);
-			NetworkUtil.sendToPlayer(packet, player);
+			sendSync((EntityPlayerMP) player, true);
+		}
+	}
+
+	/**
+	 * Sends everything to the player if the client of the player could not apply a {@link PacketGenomeTrackerSync}.
+	 * Only one full sync is sent every {@link #FULL_SYNC_REQUEST_INTERVAL} ticks, a later request is answered with the next sync.
+	 *
+	 * @param stringKeys true if the client has other species or mutations registered and can not read the ids of the server.
+	 */
+	public void requestFullSync(EntityPlayerMP player, boolean stringKeys) {
+		PlayerSyncState syncState = playerSyncStates.get(player.getUniqueID());
+		if (syncState == null || player.world.getTotalWorldTime() - syncState.fullSyncTime >= FULL_SYNC_REQUEST_INTERVAL) {
+			sendFullSync(player, stringKeys || syncState != null && syncState.stringKeys);
+		} else {
+			syncState.fullSyncRequested = true;
+			syncState.stringKeys |= stringKeys;
+		}
+	}
+
+	private void sendSync(EntityPlayerMP player, boolean withSyncData) {
+		PlayerSyncState syncState = playerSyncStates.get(player.getUniqueID());
+		if (syncState == null) {
+			sendFullSync(player, false);
+		} else if (syncState.fullSyncRequested) {
+			sendFullSync(player, syncState.stringKeys);
+		} else {
+			sendDelta(player, syncState, withSyncData);
+		}
+	}
+
+	/**
+	 * Sends everything to the player, for players that never received this tracker and clients that can not apply a delta.
+	 *
+	 * @param stringKeys true if the client has other species or mutations registered and can not read the ids of the server.
+	 */
+	public void sendFullSync(EntityPlayerMP player, boolean stringKeys) {
+		IntList entries = new IntArrayList();
+		addEntries(entries, discoveredSpecies, DISCOVERED_SPECIES);
+		addEntries(entries, discoveredMutations, DISCOVERED_MUTATION);
+		addEntries(entries, researchedMutations, RESEARCHED_MUTATION);
+
+		int revision = discoveryLog.size();
+		PacketGenomeTrackerSync packet = new PacketGenomeTrackerSync(speciesRootUID(), epoch, true, 0, revision, modeName, writeSyncData(), entries, stringKeys);
+		NetworkUtil.sendToPlayer(packet, player);
+		playerSyncStates.put(player.getUniqueID(), new PlayerSyncState(revision, stringKeys, player.world.getTotalWorldTime()));
+	}
+
+	private void sendDelta(EntityPlayerMP player, PlayerSyncState syncState, boolean withSyncData) {
+		int revision = discoveryLog.size();
+		if (revision == syncState.revision && !withSyncData) {
+			return;
 		}
+		IntList entries = new IntArrayList(discoveryLog.subList(syncState.revision, revision));
+		NBTTagCompound syncData = withSyncData ? writeSyncData() : null;
+		PacketGenomeTrackerSync packet = new PacketGenomeTrackerSync(speciesRootUID(), epoch, false, syncState.revision, revision, modeName, syncData, entries, syncState.stringKeys);
+		NetworkUtil.sendToPlayer(packet, player);
+		syncState.revision = revision;
 	}
 
-	private void syncToPlayer(Collection<String> discoveredSpecies, Collection<String> discoveredMutations, Collection<String> researchedMutations) {
+	/**
+	 * Forgets what the player received, the client of the player starts with an empty tracker on the next login.
+	 */
+	public void onPlayerLoggedOut(EntityPlayer player) {
+		playerSyncStates.remove(player.getUniqueID());
+	}
+
+	/**
+	 * Sends new discoveries to the owner of the tracker if they are online.
+	 */
+	private void syncDiscoveries() {
+		EntityPlayerMP player = getOnlineOwner();
+		if (player != null) {
+			sendSync(player, false);
+		}
+	}
+
+	@Nullable
+	private EntityPlayerMP getOnlineOwner() {
 		if (world != null && username != null && username.getName() != null) {
 			EntityPlayer player = world.getPlayerEntityByName(username.getName());
 			if (player instanceof EntityPlayerMP && !(player instanceof FakePlayer)) {
-				IBreedingTracker breedingTracker = getBreedingTracker(player);
-				String modeName = breedingTracker.getModeName();
-				setModeName(modeName);
+				return (EntityPlayerMP) player;
+			}
+		}
+		return null;
+	}
 
-				NBTTagCompound nbtTagCompound = new NBTTagCompound();
-				writeToNBT(nbtTagCompound, discoveredSpecies, discoveredMutations, researchedMutations);
-				PacketGenomeTrackerSync packet = new PacketGenomeTrackerSync(nbtTagCompound);
-				NetworkUtil.sendToPlayer(packet, player);
+	private void addDiscovery(int kind, int id) {
+		discoveryLog.add(encodeEntry(kind, id));
+	}
 
-				for (String species : discoveredSpecies) {
-					SpeciesDiscoveredTrigger.INSTANCE.trigger((EntityPlayerMP) player, AlleleManager.alleleRegistry.getAllele(species));
-				}
+	private static void addEntries(IntList entries, BitSet values, int kind) {
+		for (int id = values.nextSetBit(0); id >= 0; id = values.nextSetBit(id + 1)) {
+			entries.add(encodeEntry(kind, id));
+		}
+	}
+
+	/**
+	 * Packs the kind of a discovery and the id of its key, see {@link BreedingTrackerKeys}, into one int.
+	 */
+	public static int encodeEntry(int kind, int id) {
+		return id << 2 | kind;
+	}
+
+	public static int getEntryKind(int entry) {
+		return entry & 3;
+	}
+
+	public static int getEntryId(int entry) {
+		return entry >>> 2;
+	}
+
+	/**
+	 * Applies a sync packet of the server tracker on the client.
+	 *
+	 * @return false if the packet is a delta for another revision than this tracker has, the client then needs a full sync.
+	 */
+	public boolean applySync(long epoch, boolean full, int fromRevision, int toRevision, String modeName, @Nullable NBTTagCompound syncData, IntList entries) {
+		if (full) {
+			discoveredSpecies.clear();
+			discoveredMutations.clear();
+			researchedMutations.clear();
+		} else if (epoch != syncedEpoch || fromRevision != syncedRevision) {
+			return false;
+		}
+		this.syncedEpoch = epoch;
+		this.syncedRevision = toRevision;
+		if (!modeName.isEmpty()) {
+			this.modeName = modeName;
+		}
+		if (syncData != null) {
+			readSyncData(syncData);
+		}
+		for (int i = 0; i < entries.size(); i++) {
+			int entry = entries.getInt(i);
+			int id = getEntryId(entry);
+			switch (getEntryKind(entry)) {
+				case DISCOVERED_SPECIES:
+					discoveredSpecies.set(id);
+					break;
+				case DISCOVERED_MUTATION:
+					discoveredMutations.set(id);
+					break;
+				case RESEARCHED_MUTATION:
+					researchedMutations.set(id);
+					break;
 			}
 		}
+		return true;
+	}
+
+	/**
+	 * Copies the synced state of the tracker of the previous client world, so the client can continue with deltas
+	 * after a dimension change.
+	 */
+	public void copySyncedState(BreedingTracker tracker) {
+		discoveredSpecies.clear();
+		discoveredSpecies.or(tracker.discoveredSpecies);
+		discoveredMutations.clear();
+		discoveredMutations.or(tracker.discoveredMutations);
+		researchedMutations.clear();
+		researchedMutations.or(tracker.researchedMutations);
+		modeName = tracker.modeName;
+		syncedEpoch = tracker.syncedEpoch;
+		syncedRevision = tracker.syncedRevision;
+		NBTTagCompound syncData = tracker.writeSyncData();
+		if (syncData != null) {
+			readSyncData(syncData);
+		}
+	}
+
+	public boolean isSyncedWith(long epoch, int revision) {
+		return syncedEpoch == epoch && syncedRevision == revision;
+	}
+
+	/**
+	 * Additional data of the tracker that is sent to the client on login and dimension changes.
+	 */
+	@Nullable
+	protected NBTTagCompound writeSyncData() {
+		return null;
+	}
+
+	protected void readSyncData(NBTTagCompound syncData) {
 	}
 
 	/* HELPER FUNCTIONS TO PREVENT OBFUSCATION OF INTERFACE METHODS */
@@ -160,36 +359,40 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 
 	@Override
 	public NBTTagCompound writeToNBT(NBTTagCompound nbttagcompound) {
-		writeToNBT(nbttagcompound, discoveredSpecies, discoveredMutations, researchedMutations);
-		return nbttagcompound;
-	}
-
-	private void writeToNBT(NBTTagCompound nbtTagCompound, Collection<String> discoveredSpecies, Collection<String> discoveredMutations, Collection<String> researchedMutations) {
 		if (modeName != null && !modeName.isEmpty()) {
-			nbtTagCompound.setString(MODE_NAME_KEY, modeName);
+			nbttagcompound.setString(MODE_NAME_KEY, modeName);
 		}
 
-		nbtTagCompound.setString(TYPE_KEY, speciesRootUID());
+		nbttagcompound.setString(TYPE_KEY, speciesRootUID());
 
-		writeValuesToNBT(nbtTagCompound, discoveredSpecies, SPECIES_COUNT_KEY, SPECIES_KEY);
-		writeValuesToNBT(nbtTagCompound, discoveredMutations, MUTATIONS_COUNT_KEY, MUTATIONS_KEY);
-		writeValuesToNBT(nbtTagCompound, researchedMutations, RESEARCHED_COUNT_KEY, RESEARCHED_KEY);
+		writeValuesToNBT(nbttagcompound, getKeys(discoveredSpecies), SPECIES_COUNT_KEY, SPECIES_KEY);
+		writeValuesToNBT(nbttagcompound, getKeys(discoveredMutations), MUTATIONS_COUNT_KEY, MUTATIONS_KEY);
+		writeValuesToNBT(nbttagcompound, getKeys(researchedMutations), RESEARCHED_COUNT_KEY, RESEARCHED_KEY);
+		return nbttagcompound;
 	}
 
-	private static void readValuesFromNBT(NBTTagCompound nbttagcompound, Set<String> values, String countKey, String key) {
+	private static void readValuesFromNBT(NBTTagCompound nbttagcompound, BitSet values, String countKey, String key) {
 		if (nbttagcompound.hasKey(countKey)) {
 			final int count = nbttagcompound.getInteger(countKey);
 			for (int i = 0; i < count; i++) {
 				if (nbttagcompound.hasKey(key + i)) {
 					String value = nbttagcompound.getString(key + i);
 					if (!value.isEmpty()) {
-						values.add(value);
+						values.set(BreedingTrackerKeys.getId(value));
 					}
 				}
 			}
 		}
 	}
 
+	private static Set<String> getKeys(BitSet values) {
+		Set<String> keys = new HashSet<>();
+		for (int id = values.nextSetBit(0); id >= 0; id = values.nextSetBit(id + 1)) {
+			keys.add(BreedingTrackerKeys.getKey(id));
+		}
+		return keys;
+	}
+
 	private static void writeValuesToNBT(NBTTagCompound nbttagcompound, Collection<String> values, String countKey, String key) {
 		final int count = values.size();
 		nbttagcompound.setInteger(countKey, count);
@@ -202,47 +405,44 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 		}
 	}
 
-	private static String getMutationString(IMutation mutation) {
-		String species0 = mutation.getAllele0().getUID();
-		String species1 = mutation.getAllele1().getUID();
-		String resultSpecies = mutation.getTemplate()[0].getUID();
-		return String.format(MUTATION_FORMAT, species0, species1, resultSpecies);
-	}
-
 	@Override
 	public void registerMutation(IMutation mutation) {
-		String mutationString = getMutationString(mutation);
-		if (!discoveredMutations.contains(mutationString)) {
-			discoveredMutations.add(mutationString);
+		int mutationId = BreedingTrackerKeys.getMutationId(mutation);
+		if (!discoveredMutations.get(mutationId)) {
+			discoveredMutations.set(mutationId);
+			addDiscovery(DISCOVERED_MUTATION, mutationId);
 			markDirty();
 
 			ISpeciesRoot speciesRoot = AlleleManager.alleleRegistry.getSpeciesRoot(speciesRootUID());
 			ForestryEvent event = new ForestryEvent.MutationDiscovered(speciesRoot, username, mutation, this);
 			MinecraftForge.EVENT_BUS.post(event);
 
-			syncToPlayer(emptyStringCollection, Collections.singleton(mutationString), emptyStringCollection);
+			syncDiscoveries();
 		}
 	}
 
 	@Override
 	public boolean isDiscovered(IMutation mutation) {
-		String mutationString = getMutationString(mutation);
-		return discoveredMutations.contains(mutationString) || researchedMutations.contains(mutationString);
+		int mutationId = BreedingTrackerKeys.getMutationId(mutation);
+		return discoveredMutations.get(mutationId) || researchedMutations.get(mutationId);
 	}
 
 	@Override
 	public boolean isDiscovered(IAlleleSpecies species) {
-		return discoveredSpecies.contains(species.getUID());
+		return discoveredSpecies.get(BreedingTrackerKeys.getSpeciesId(species));
 	}
 
+	/**
+	 * @return an unmodifiable view of the uids of all discovered species.
+	 */
 	@Override
 	public Set<String> getDiscoveredSpecies() {
-		return discoveredSpecies;
+		return discoveredSpeciesView;
 	}
 
 	@Override
 	public int getSpeciesBred() {
-		return discoveredSpecies.size();
+		return discoveredSpecies.cardinality();
 	}
 
 	@Override
@@ -253,33 +453,101 @@ public abstract class BreedingTracker extends WorldSavedData implements IBreedin
 
 	@Override
 	public void registerSpecies(IAlleleSpecies species) {
-		if (!discoveredSpecies.contains(species.getUID())) {
-			discoveredSpecies.add(species.getUID());
+		int speciesId = BreedingTrackerKeys.getSpeciesId(species);
+		if (!discoveredSpecies.get(speciesId)) {
+			discoveredSpecies.set(speciesId);
+			addDiscovery(DISCOVERED_SPECIES, speciesId);
 
 			ISpeciesRoot speciesRoot = AlleleManager.alleleRegistry.getSpeciesRoot(speciesRootUID());
 			ForestryEvent event = new ForestryEvent.SpeciesDiscovered(speciesRoot, username, species, this);
 			MinecraftForge.EVENT_BUS.post(event);
 
-			syncToPlayer(Collections.singleton(species.getUID()), emptyStringCollection, emptyStringCollection);
+			syncDiscoveries();
+
+			EntityPlayerMP player = getOnlineOwner();
+			if (player != null) {
+				SpeciesDiscoveredTrigger.INSTANCE.trigger(player, species);
+			}
 		}
 	}
 
 	@Override
 	public void researchMutation(IMutation mutation) {
-		String mutationString = getMutationString(mutation);
-		if (!researchedMutations.contains(mutationString)) {
-			researchedMutations.add(mutationString);
+		int mutationId = BreedingTrackerKeys.getMutationId(mutation);
+		if (!researchedMutations.get(mutationId)) {
+			researchedMutations.set(mutationId);
+			addDiscovery(RESEARCHED_MUTATION, mutationId);
 			markDirty();
 
 			registerMutation(mutation);
 
-			syncToPlayer(emptyStringCollection, emptyStringCollection, Collections.singleton(mutationString));
+			syncDiscoveries();
 		}
 	}
 
 	@Override
 	public boolean isResearched(IMutation mutation) {
-		String mutationString = getMutationString(mutation);
-		return researchedMutations.contains(mutationString);
+		return researchedMutations.get(BreedingTrackerKeys.getMutationId(mutation));
+	}
+
+	/**
+	 * Unmodifiable set of the keys of the ids in a bitset, changes of the bitset are visible in the set.
+	 */
+	private static class KeySetView extends AbstractSet<String> {
+		private final BitSet values;
+
+		public KeySetView(BitSet values) {
+			this.values = values;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof String)) {
+				return false;
+			}
+			int id = BreedingTrackerKeys.findId((String) o);
+			return id >= 0 && values.get(id);
+		}
+
+		@Override
+		public int size() {
+			return values.cardinality();
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new Iterator<String>() {
+				private int next = values.nextSetBit(0);
+
+				@Override
+				public boolean hasNext() {
+					return next >= 0;
+				}
+
+				@Override
+				public String next() {
+					if (next < 0) {
+						throw new NoSuchElementException();
+					}
+					String key = BreedingTrackerKeys.getKey(next);
+					next = values.nextSetBit(next + 1);
+					return key;
+				}
+			};
+		}
+	}
+
+	private static class PlayerSyncState {
+		private int revision;
+		private boolean stringKeys;
+		/* The world time of the last full sync and if the client requested another one since then */
+		private final long fullSyncTime;
+		private boolean fullSyncRequested;
+
+		public PlayerSyncState(int revision, boolean stringKeys, long fullSyncTime) {
+			this.revision = revision;
+			this.stringKeys = stringKeys;
+			this.fullSyncTime = fullSyncTime;
+		}
 	}
 }
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.genetics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import forestry.api.genetics.AlleleManager;
+import forestry.api.genetics.IAllele;
+import forestry.api.genetics.IAlleleSpecies;
+import forestry.api.genetics.IMutation;
+import forestry.api.genetics.ISpeciesRoot;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+/**
+ * Dense integer ids for the species and mutation keys that breeding trackers store, so the trackers can keep their
+ * discoveries in bitsets.
+ * <p>
+ * The ids of all registered species and mutations are assigned, in the order of their sorted keys, when the ids are
+ * first used after registration. Keys that are only found in saves, like the species of a removed addon, and mutations
+ * registered later get the next free ids, so they are kept and written back.
+ * Ids are only valid for the running game, saves keep the string keys. Clients can use the ids of the server if both
+ * have the same registered keys, see {@link #getRegisteredKeysHash()}.
+ */
+public final class BreedingTrackerKeys {
+	private static final String MUTATION_FORMAT = "%s-%s=%s";
+
+	private static final Object2IntMap<String> ids = new Object2IntOpenHashMap<>();
+	private static final List<String> keys = new ArrayList<>();
+	private static final Reference2IntMap<IMutation> mutationIds = new Reference2IntOpenHashMap<>();
+	private static boolean frozen;
+	private static int registeredCount;
+	private static int registeredKeysHash;
+
+	static {
+		ids.defaultReturnValue(-1);
+		mutationIds.defaultReturnValue(-1);
+	}
+
+	private BreedingTrackerKeys() {
+	}
+
+	/**
+	 * @return the id of the given species or mutation key, a new id if the key is not known yet.
+	 */
+	public static synchronized int getId(String key) {
+		freeze();
+		return intern(key);
+	}
+
+	/**
+	 * @return the id of the given species or mutation key, -1 if the key is not known.
+	 */
+	public static synchronized int findId(String key) {
+		freeze();
+		return ids.getInt(key);
+	}
+
+	public static int getSpeciesId(IAlleleSpecies species) {
+		return getId(species.getUID());
+	}
+
+	public static synchronized int getMutationId(IMutation mutation) {
+		freeze();
+		int id = mutationIds.getInt(mutation);
+		if (id < 0) {
+			id = intern(getMutationKey(mutation));
+			mutationIds.put(mutation, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @return the species or mutation key of the given id.
+	 */
+	public static synchronized String getKey(int id) {
+		return keys.get(id);
+	}
+
+	/**
+	 * @return the amount of ids that were assigned to the keys of registered species and mutations.
+	 * Ids below this count are the same on every side with the same {@link #getRegisteredKeysHash()}.
+	 */
+	public static synchronized int getRegisteredCount() {
+		freeze();
+		return registeredCount;
+	}
+
+	/**
+	 * @return a hash of the keys of all registered species and mutations, in the order of their ids.
+	 */
+	public static synchronized int getRegisteredKeysHash() {
+		freeze();
+		return registeredKeysHash;
+	}
+
+	/**
+	 * @return the key a breeding tracker saves for the given mutation.
+	 */
+	public static String getMutationKey(IMutation mutation) {
+		String species0 = mutation.getAllele0().getUID();
+		String species1 = mutation.getAllele1().getUID();
+		String resultSpecies = mutation.getTemplate()[0].getUID();
+		return String.format(MUTATION_FORMAT, species0, species1, resultSpecies);
+	}
+
+	private static void freeze() {
+		if (frozen) {
+			return;
+		}
+		frozen = true;
+
+		List<String> registeredKeys = new ArrayList<>();
+		for (IAllele allele : AlleleManager.alleleRegistry.getRegisteredAlleles().values()) {
+			if (allele instanceof IAlleleSpecies) {
+				registeredKeys.add(allele.getUID());
+			}
+		}
+		List<IMutation> mutations = new ArrayList<>();
+		for (ISpeciesRoot root : AlleleManager.alleleRegistry.getSpeciesRoot().values()) {
+			mutations.addAll(root.getMutations(false));
+		}
+		for (IMutation mutation : mutations) {
+			registeredKeys.add(getMutationKey(mutation));
+		}
+		Collections.sort(registeredKeys);
+		for (String key : registeredKeys) {
+			intern(key);
+		}
+		registeredCount = keys.size();
+		registeredKeysHash = keys.hashCode();
+		for (IMutation mutation : mutations) {
+			mutationIds.put(mutation, ids.getInt(getMutationKey(mutation)));
+		}
+	}
+
+	private static int intern(String key) {
+		int id = ids.getInt(key);
+		if (id < 0) {
+			id = keys.size();
+			ids.put(key, id);
+			keys.add(key);
+		}
+		return id;
+	}
+}
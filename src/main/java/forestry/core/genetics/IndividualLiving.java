@@ -22,6 +22,8 @@ public abstract class IndividualLiving extends Individual implements IIndividual
 
 	private int health;
 	private int maxHealth;
+	// the genome of the mate is only written again by writeChangesToNBT if it changed
+	private boolean mateChanged;
 
 	protected IndividualLiving() {
 	}
@@ -48,12 +50,39 @@ public abstract class IndividualLiving extends Individual implements IIndividual
 		getGenome().writeToNBT(nbtGenome);
 		nbttagcompound.setTag("Genome", nbtGenome);
 
-		if (getMate() != null) {
+		writeMateToNBT(nbttagcompound);
+		return nbttagcompound;
+	}
+
+	/**
+	 * Only rewrites the fields that can change during the life of an individual, the genome is left untouched.
+	 */
+	@Override
+	public void writeChangesToNBT(NBTTagCompound nbttagcompound) {
+		nbttagcompound.setBoolean("IsAnalyzed", isAnalyzed);
+		nbttagcompound.setInteger("Health", health);
+		if (mateChanged) {
+			writeMateToNBT(nbttagcompound);
+		}
+	}
+
+	private void writeMateToNBT(NBTTagCompound nbttagcompound) {
+		IGenome mate = getMate();
+		if (mate != null) {
 			NBTTagCompound nbtMate = new NBTTagCompound();
-			getMate().writeToNBT(nbtMate);
+			mate.writeToNBT(nbtMate);
 			nbttagcompound.setTag("Mate", nbtMate);
+		} else {
+			nbttagcompound.removeTag("Mate");
 		}
-		return nbttagcompound;
+		mateChanged = false;
+	}
+
+	/**
+	 * Has to be called by subclasses if they change the mate.
+	 */
+	protected final void onMateChanged() {
+		mateChanged = true;
 	}
 
 	/* GENERATION */
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.genetics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import forestry.api.genetics.IAllele;
+import forestry.api.genetics.IMutation;
+
+/**
+ * Lookup tables over all registered mutations of a species root.
+ * Replaces the linear scans over the mutation list with map lookups:
+ * - by the unordered pair of parent species uids
+ * - by a single parent species uid
+ * - by the resulting allele of each chromosome
+ * <p>
+ * The buckets keep the registration order of the mutations.
+ * An index is immutable, {@link SpeciesRoot} creates a new one if mutations are registered after it was built.
+ */
+final class MutationIndex {
+	private final Map<String, Map<String, List<IMutation>>> byParents = new HashMap<>();
+	private final Map<String, List<IMutation>> byParent = new HashMap<>();
+	private final List<Map<IAllele, List<IMutation>>> byResult = new ArrayList<>();
+	private final int mutationCount;
+
+	MutationIndex(List<? extends IMutation> mutations, int karyotypeSize) {
+		this.mutationCount = mutations.size();
+		for (int i = 0; i < karyotypeSize; i++) {
+			byResult.add(new IdentityHashMap<>());
+		}
+
+		for (IMutation mutation : mutations) {
+			String uid0 = mutation.getAllele0().getUID();
+			String uid1 = mutation.getAllele1().getUID();
+
+			add(byParents.computeIfAbsent(uid0, k -> new HashMap<>()), uid1, mutation);
+			add(byParent, uid0, mutation);
+			if (!uid0.equals(uid1)) {
+				add(byParents.computeIfAbsent(uid1, k -> new HashMap<>()), uid0, mutation);
+				add(byParent, uid1, mutation);
+			}
+
+			IAllele[] template = mutation.getTemplate();
+			if (template == null) {
+				continue;
+			}
+			for (int i = 0; i < template.length && i < karyotypeSize; i++) {
+				IAllele result = template[i];
+				if (result != null) {
+					add(byResult.get(i), result, mutation);
+				}
+			}
+		}
+	}
+
+	private static <K> void add(Map<K, List<IMutation>> map, K key, IMutation mutation) {
+		map.computeIfAbsent(key, k -> new ArrayList<>()).add(mutation);
+	}
+
+	/**
+	 * @return the amount of mutations this index was built from.
+	 */
+	int getMutationCount() {
+		return mutationCount;
+	}
+
+	/**
+	 * @return all mutations between the two parent species, in any order of the parents.
+	 */
+	List<IMutation> getCombinations(String parentUid0, String parentUid1) {
+		Map<String, List<IMutation>> partners = byParents.get(parentUid0);
+		if (partners == null) {
+			return Collections.emptyList();
+		}
+		List<IMutation> mutations = partners.get(parentUid1);
+		return mutations == null ? Collections.emptyList() : mutations;
+	}
+
+	/**
+	 * @return all mutations that have the given species as one of their parents.
+	 */
+	List<IMutation> getCombinations(String parentUid) {
+		List<IMutation> mutations = byParent.get(parentUid);
+		return mutations == null ? Collections.emptyList() : mutations;
+	}
+
+	/**
+	 * @return all mutations whose template contains the given allele at the given chromosome.
+	 */
+	List<IMutation> getPaths(IAllele result, int chromosomeOrdinal) {
+		if (chromosomeOrdinal < 0 || chromosomeOrdinal >= byResult.size()) {
+			return Collections.emptyList();
+		}
+		List<IMutation> mutations = byResult.get(chromosomeOrdinal).get(result);
+		return mutations == null ? Collections.emptyList() : mutations;
+	}
+}
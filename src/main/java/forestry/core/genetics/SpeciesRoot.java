@@ -11,6 +11,9 @@
 package forestry.core.genetics;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -22,20 +25,25 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.function.Function;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 
 import forestry.api.genetics.IAllele;
 import forestry.api.genetics.IAlleleSpecies;
 import forestry.api.genetics.IChromosome;
 import forestry.api.genetics.IChromosomeType;
+import forestry.api.genetics.IGenome;
 import forestry.api.genetics.IIndividual;
 import forestry.api.genetics.IIndividualTranslator;
 import forestry.api.genetics.IMutation;
 import forestry.api.genetics.ISpeciesRoot;
 
 public abstract class SpeciesRoot implements ISpeciesRoot {
+	private static final int GENOME_CACHE_SIZE = 1024;
+
 	/* TRANSLATORS */
 	private final HashMap<Object, IIndividualTranslator<IIndividual, Object>> translators = new HashMap<>();
 
@@ -128,63 +136,83 @@ public abstract class SpeciesRoot implements ISpeciesRoot {
 	}
 
 	/* MUTATIONS */
-	@Override
-	public List<IMutation> getCombinations(IAllele other) {
-		List<IMutation> combinations = new ArrayList<>();
-		for (IMutation mutation : getMutations(false)) {
-			if (mutation.isPartner(other)) {
-				combinations.add(mutation);
-			}
+	@Nullable
+	private volatile MutationIndex mutationIndex;
+
+	/**
+	 * @return the lookup tables over all registered mutations.
+	 * The tables are built once the mutations are queried and rebuilt if more mutations were registered since.
+	 */
+	private MutationIndex getMutationIndex() {
+		List<? extends IMutation> mutations = getMutations(false);
+		MutationIndex index = mutationIndex;
+		if (index == null || index.getMutationCount() != mutations.size()) {
+			index = new MutationIndex(mutations, getKaryotype().length);
+			mutationIndex = index;
 		}
+		return index;
+	}
 
-		return combinations;
+	@Override
+	public List<IMutation> getCombinations(IAllele other) {
+		return new ArrayList<>(getMutationIndex().getCombinations(other.getUID()));
 	}
 
 	@Override
 	public List<? extends IMutation> getResultantMutations(IAllele other) {
-		List<IMutation> mutations = new ArrayList<>();
 		int speciesIndex = getSpeciesChromosomeType().ordinal();
-		for (IMutation mutation : getMutations(false)) {
-			IAllele[] template = mutation.getTemplate();
-			if (template == null || template.length <= speciesIndex) {
-				continue;
-			}
-			IAllele speciesAllele = template[speciesIndex];
-			if (speciesAllele == other) {
-				mutations.add(mutation);
-			}
-		}
-
-		return mutations;
+		return new ArrayList<>(getMutationIndex().getPaths(other, speciesIndex));
 	}
 
 	@Override
 	public List<IMutation> getCombinations(IAlleleSpecies parentSpecies0, IAlleleSpecies parentSpecies1, boolean shuffle) {
-		List<IMutation> combinations = new ArrayList<>();
-
-		String parentSpecies1UID = parentSpecies1.getUID();
-		for (IMutation mutation : getMutations(shuffle)) {
-			if (mutation.isPartner(parentSpecies0)) {
-				IAllele partner = mutation.getPartner(parentSpecies0);
-				if (partner.getUID().equals(parentSpecies1UID)) {
-					combinations.add(mutation);
-				}
-			}
+		List<IMutation> combinations = new ArrayList<>(getMutationIndex().getCombinations(parentSpecies0.getUID(), parentSpecies1.getUID()));
+		if (shuffle && combinations.size() > 1) {
+			Collections.shuffle(combinations);
 		}
-
 		return combinations;
 	}
 
 	@Override
 	public Collection<? extends IMutation> getPaths(IAllele result, IChromosomeType chromosomeType) {
-		ArrayList<IMutation> paths = new ArrayList<>();
-		for (IMutation mutation : getMutations(false)) {
-			if (mutation.getTemplate()[chromosomeType.ordinal()] == result) {
-				paths.add(mutation);
-			}
+		return new ArrayList<>(getMutationIndex().getPaths(result, chromosomeType.ordinal()));
+	}
+
+	/* GENOME CACHE */
+	/**
+	 * Decoded genomes, keyed by a private copy of the genome nbt they were read from.
+	 * Genomes are immutable, so every individual with identical chromosomes can share one instance.
+	 * Values are softly referenced so the cache never keeps genomes alive under memory pressure.
+	 */
+	private final Cache<NBTTagCompound, IGenome> genomeCache = CacheBuilder.newBuilder()
+		.maximumSize(GENOME_CACHE_SIZE)
+		.softValues()
+		.recordStats()
+		.build();
+
+	/**
+	 * Returns the decoded genome for the given genome nbt, decoding it only if no genome with the same chromosomes was cached.
+	 */
+	public <G extends IGenome> G getCachedGenome(NBTTagCompound genomeNBT, Function<NBTTagCompound, G> decoder) {
+		IGenome genome = genomeCache.getIfPresent(genomeNBT);
+		if (genome == null) {
+			genome = decoder.apply(genomeNBT);
+			// copy the key, the nbt of an item stack can be modified in place later
+			genomeCache.put(genomeNBT.copy(), genome);
 		}
+		//noinspection unchecked
+		return (G) genome;
+	}
+
+	public void clearGenomeCache() {
+		genomeCache.invalidateAll();
+	}
 
-		return paths;
+	/**
+	 * @return the hit and miss counters of the genome cache.
+	 */
+	public CacheStats getGenomeCacheStats() {
+		return genomeCache.stats();
 	}
 
 	/* GENOME CONVERSIONS */
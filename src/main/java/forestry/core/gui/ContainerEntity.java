@@ -10,23 +10,18 @@
  ******************************************************************************/
 package forestry.core.gui;
 
-import com.google.common.collect.ImmutableSet;
-
-import javax.annotation.Nullable;
-
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.IInventory;
 
 import forestry.api.core.IErrorLogicSource;
-import forestry.api.core.IErrorState;
+import forestry.core.errors.ErrorStateTracker;
 import forestry.core.network.packets.PacketErrorUpdateEntity;
 
 public class ContainerEntity<T extends Entity & IInventory> extends ContainerForestry {
 	protected final T entity;
-	@Nullable
-	private ImmutableSet<IErrorState> previousErrorStates;
+	private final ErrorStateTracker errorStateTracker = new ErrorStateTracker();
 
 	protected ContainerEntity(T entity) {
 		this.entity = entity;
@@ -53,14 +48,10 @@ public class ContainerEntity<T extends Entity & IInventory> extends ContainerFor
 
 		if (entity instanceof IErrorLogicSource) {
 			IErrorLogicSource errorLogicSource = (IErrorLogicSource) entity;
-			ImmutableSet<IErrorState> errorStates = errorLogicSource.getErrorLogic().getErrorStates();
-
-			if (previousErrorStates == null || !errorStates.equals(previousErrorStates)) {
+			if (errorStateTracker.hasChanged(errorLogicSource.getErrorLogic())) {
 				PacketErrorUpdateEntity packet = new PacketErrorUpdateEntity(entity, errorLogicSource);
 				sendPacketToListeners(packet);
 			}
-
-			previousErrorStates = errorStates;
 		}
 	}
 }
@@ -10,10 +10,6 @@
  ******************************************************************************/
 package forestry.core.gui;
 
-import com.google.common.collect.ImmutableSet;
-
-import javax.annotation.Nullable;
-
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.tileentity.TileEntity;
@@ -22,7 +18,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import forestry.api.core.IErrorLogicSource;
-import forestry.api.core.IErrorState;
+import forestry.core.errors.ErrorStateTracker;
 import forestry.core.network.packets.PacketErrorUpdate;
 import forestry.core.network.packets.PacketGuiEnergy;
 import forestry.core.network.packets.PacketGuiUpdate;
@@ -34,8 +30,7 @@ import forestry.energy.EnergyManager;
 //TODO: Add needsGuiUpdate() method, so we only send one gui update packet.
 public abstract class ContainerTile<T extends TileEntity> extends ContainerForestry {
 	protected final T tile;
-	@Nullable
-	private ImmutableSet<IErrorState> previousErrorStates;
+	private final ErrorStateTracker errorStateTracker = new ErrorStateTracker();
 	private int previousEnergyManagerData = 0;
 	private int previousWorkCounter = 0;
 	private int previousTicksPerWorkCycle = 0;
@@ -66,14 +61,10 @@ public abstract class ContainerTile<T extends TileEntity> extends ContainerFores
 
 		if (tile instanceof IErrorLogicSource) {
 			IErrorLogicSource errorLogicSource = (IErrorLogicSource) tile;
-			ImmutableSet<IErrorState> errorStates = errorLogicSource.getErrorLogic().getErrorStates();
-
-			if (previousErrorStates == null || !errorStates.equals(previousErrorStates)) {
+			if (errorStateTracker.hasChanged(errorLogicSource.getErrorLogic())) {
 				PacketErrorUpdate packet = new PacketErrorUpdate(tile, errorLogicSource);
 				sendPacketToListeners(packet);
 			}
-
-			previousErrorStates = errorStates;
 		}
 
 		if (tile instanceof IPowerHandler) {
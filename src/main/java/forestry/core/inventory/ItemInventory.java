@@ -11,8 +11,11 @@
 package forestry.core.inventory;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
 
 import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Map;
 import java.util.Random;
 
 import net.minecraft.entity.player.EntityPlayer;
@@ -34,16 +37,30 @@ import net.minecraftforge.items.wrapper.InvWrapper;
 
 import forestry.core.tiles.IFilterSlotDelegate;
 
+/**
+ * An inventory that stores its stacks in the nbt of an item.
+ * <p>
+ * Slots are read from the nbt when they are accessed for the first time. On {@link #markDirty()} only the dirty slots
+ * are written back. A slot is dirty after it was set or split, or after its stack was handed out by
+ * {@link #getStackInSlot(int)}, because containers change that stack in place.
+ */
 public abstract class ItemInventory implements IInventory, IFilterSlotDelegate, ICapabilityProvider {
 	private static final String KEY_SLOTS = "Slots";
 	private static final String KEY_UID = "UID";
 	private static final Random rand = new Random();
+	// the inventory that was created for or last wrote to a slots compound, see isCurrent
+	private static final Map<NBTTagCompound, ItemInventory> slotsOwners = new MapMaker().weakKeys().weakValues().makeMap();
 
 	private final IItemHandler itemHandler = new InvWrapper(this);
 
 	protected final EntityPlayer player;
 	private final ItemStack parent;
 	private final NonNullList<ItemStack> inventoryStacks;
+	private final BitSet decodedSlots;
+	private final BitSet dirtySlots;
+	// the slots compound this inventory was created for or last wrote to, null if the parent had none
+	@Nullable
+	private NBTTagCompound slotsNbt;
 
 	public ItemInventory(EntityPlayer player, int size, ItemStack parent) {
 		Preconditions.checkArgument(!parent.isEmpty(), "Parent cannot be empty.");
@@ -51,6 +68,8 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 		this.player = player;
 		this.parent = parent;
 		this.inventoryStacks = NonNullList.withSize(size, ItemStack.EMPTY);
+		this.decodedSlots = new BitSet(size);
+		this.dirtySlots = new BitSet(size);
 
 		NBTTagCompound nbt = parent.getTagCompound();
 		if (nbt == null) {
@@ -59,16 +78,9 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 		}
 		setUID(nbt); // Set a uid to identify the itemStack on SMP
 
-		NBTTagCompound nbtSlots = nbt.getCompoundTag(KEY_SLOTS);
-		for (int i = 0; i < inventoryStacks.size(); i++) {
-			String slotKey = getSlotNBTKey(i);
-			if (nbtSlots.hasKey(slotKey)) {
-				NBTTagCompound itemNbt = nbtSlots.getCompoundTag(slotKey);
-				ItemStack itemStack = new ItemStack(itemNbt);
-				inventoryStacks.set(i, itemStack);
-			} else {
-				inventoryStacks.set(i, ItemStack.EMPTY);
-			}
+		if (nbt.hasKey(KEY_SLOTS)) {
+			this.slotsNbt = nbt.getCompoundTag(KEY_SLOTS);
+			slotsOwners.put(slotsNbt, this);
 		}
 	}
 
@@ -82,6 +94,24 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 		return slotNbt.getKeySet().size();
 	}
 
+	/**
+	 * @return true if this inventory was created for the given item and no other inventory was created for it or changed its slots since.
+	 * The stacks of this inventory can be used instead of reading all slots of the item again then.
+	 */
+	public boolean isCurrent(ItemStack itemStack) {
+		if (itemStack != parent) {
+			return false;
+		}
+		NBTTagCompound nbt = itemStack.getTagCompound();
+		if (nbt == null) {
+			return false;
+		}
+		if (!nbt.hasKey(KEY_SLOTS)) {
+			return slotsNbt == null;
+		}
+		return nbt.getTag(KEY_SLOTS) == slotsNbt && slotsOwners.get(slotsNbt) == this;
+	}
+
 	private void setUID(NBTTagCompound nbt) {
 		if (!nbt.hasKey(KEY_UID)) {
 			nbt.setInteger(KEY_UID, rand.nextInt());
@@ -138,7 +168,7 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 		return baseUID == comparisonUID;
 	}
 
-	private void writeToParentNBT() {
+	private NBTTagCompound getParentNBT() {
 		ItemStack parent = getParent();
 
 		NBTTagCompound nbt = parent.getTagCompound();
@@ -146,22 +176,60 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 			nbt = new NBTTagCompound();
 			parent.setTagCompound(nbt);
 		}
+		return nbt;
+	}
 
-		NBTTagCompound slotsNbt = new NBTTagCompound();
-		for (int i = 0; i < getSizeInventory(); i++) {
-			ItemStack itemStack = getStackInSlot(i);
-			if (!itemStack.isEmpty()) {
-				String slotKey = getSlotNBTKey(i);
-				NBTTagCompound itemNbt = new NBTTagCompound();
-				itemStack.writeToNBT(itemNbt);
-				slotsNbt.setTag(slotKey, itemNbt);
-			}
+	private NBTTagCompound getSlotsNBT(NBTTagCompound nbt) {
+		NBTTagCompound slotsNbt;
+		if (!nbt.hasKey(KEY_SLOTS)) {
+			slotsNbt = new NBTTagCompound();
+			nbt.setTag(KEY_SLOTS, slotsNbt);
+		} else {
+			slotsNbt = nbt.getCompoundTag(KEY_SLOTS);
 		}
+		this.slotsNbt = slotsNbt;
+		slotsOwners.put(slotsNbt, this);
+		return slotsNbt;
+	}
 
-		nbt.setTag(KEY_SLOTS, slotsNbt);
+	private void writeToParentNBT() {
+		NBTTagCompound nbt = getParentNBT();
+		if (!dirtySlots.isEmpty()) {
+			NBTTagCompound slotsNbt = getSlotsNBT(nbt);
+			for (int i = dirtySlots.nextSetBit(0); i >= 0; i = dirtySlots.nextSetBit(i + 1)) {
+				writeSlot(slotsNbt, i);
+			}
+			dirtySlots.clear();
+		}
 		onWriteNBT(nbt);
 	}
 
+	private void writeSlot(NBTTagCompound slotsNbt, int index) {
+		ItemStack itemStack = inventoryStacks.get(index);
+		String slotKey = getSlotNBTKey(index);
+		if (itemStack.isEmpty()) {
+			slotsNbt.removeTag(slotKey);
+		} else {
+			NBTTagCompound itemNbt = new NBTTagCompound();
+			itemStack.writeToNBT(itemNbt);
+			slotsNbt.setTag(slotKey, itemNbt);
+		}
+	}
+
+	private void decodeSlot(int index) {
+		ItemStack itemStack = ItemStack.EMPTY;
+		NBTTagCompound nbt = getParent().getTagCompound();
+		if (nbt != null && nbt.hasKey(KEY_SLOTS)) {
+			NBTTagCompound slotsNbt = nbt.getCompoundTag(KEY_SLOTS);
+			String slotKey = getSlotNBTKey(index);
+			if (slotsNbt.hasKey(slotKey)) {
+				itemStack = new ItemStack(slotsNbt.getCompoundTag(slotKey));
+			}
+		}
+		inventoryStacks.set(index, itemStack);
+		decodedSlots.set(index);
+	}
+
 	private static String getSlotNBTKey(int i) {
 		return Integer.toString(i, Character.MAX_RADIX);
 	}
@@ -174,8 +242,8 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 
 	@Override
 	public boolean isEmpty() {
-		for (ItemStack itemstack : this.inventoryStacks) {
-			if (!itemstack.isEmpty()) {
+		for (int i = 0; i < inventoryStacks.size(); i++) {
+			if (!getDecodedStack(i).isEmpty()) {
 				return false;
 			}
 		}
@@ -186,9 +254,11 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 
 	@Override
 	public ItemStack decrStackSize(int index, int count) {
+		getDecodedStack(index);
 		ItemStack itemstack = ItemStackHelper.getAndSplit(this.inventoryStacks, index, count);
 
 		if (!itemstack.isEmpty()) {
+			dirtySlots.set(index);
 			this.markDirty();
 		}
 
@@ -198,38 +268,28 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 	@Override
 	public void setInventorySlotContents(int index, ItemStack itemstack) {
 		inventoryStacks.set(index, itemstack);
+		decodedSlots.set(index);
+		dirtySlots.clear(index);
 
-		ItemStack parent = getParent();
-
-		NBTTagCompound nbt = parent.getTagCompound();
-		if (nbt == null) {
-			nbt = new NBTTagCompound();
-			parent.setTagCompound(nbt);
-		}
-
-		NBTTagCompound slotNbt;
-		if (!nbt.hasKey(KEY_SLOTS)) {
-			slotNbt = new NBTTagCompound();
-			nbt.setTag(KEY_SLOTS, slotNbt);
-		} else {
-			slotNbt = nbt.getCompoundTag(KEY_SLOTS);
-		}
-
-		String slotKey = getSlotNBTKey(index);
-
-		if (itemstack.isEmpty()) {
-			slotNbt.removeTag(slotKey);
-		} else {
-			NBTTagCompound itemNbt = new NBTTagCompound();
-			itemstack.writeToNBT(itemNbt);
-
-			slotNbt.setTag(slotKey, itemNbt);
-		}
+		NBTTagCompound slotsNbt = getSlotsNBT(getParentNBT());
+		writeSlot(slotsNbt, index);
 	}
 
 	@Override
 	public ItemStack getStackInSlot(int i) {
-		return inventoryStacks.get(i);
+		ItemStack itemStack = getDecodedStack(i);
+		if (!itemStack.isEmpty()) {
+			// the caller may change the stack in place
+			dirtySlots.set(i);
+		}
+		return itemStack;
+	}
+
+	private ItemStack getDecodedStack(int index) {
+		if (!decodedSlots.get(index)) {
+			decodeSlot(index);
+		}
+		return inventoryStacks.get(index);
 	}
 
 	@Override
@@ -282,7 +342,7 @@ public abstract class ItemInventory implements IInventory, IFilterSlotDelegate,
 
 	@Override
 	public ItemStack removeStackFromSlot(int slot) {
-		ItemStack toReturn = getStackInSlot(slot);
+		ItemStack toReturn = getDecodedStack(slot);
 
 		if (!toReturn.isEmpty()) {
 			setInventorySlotContents(slot, ItemStack.EMPTY);
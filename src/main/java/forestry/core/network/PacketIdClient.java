@@ -35,6 +35,7 @@ public enum PacketIdClient implements IPacketId {
 
 	// Core Tile Entities
 	TILE_FORESTRY_UPDATE,
+	TILE_UPDATES,
 	ITEMSTACK_DISPLAY,
 	FX_SIGNAL,
 	TANK_LEVEL_UPDATE,
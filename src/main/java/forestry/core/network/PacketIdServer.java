@@ -38,6 +38,9 @@ public enum PacketIdServer implements IPacketId {
 	CLIMATE_LISTENER_UPDATE_REQUEST,
 	CLIMATE_LISTENER_UPDATE_REQUEST_ENTITY,
 
+	// Genetics
+	GENOME_TRACKER_SYNC_REQUEST,
+
 	// JEI
 	WORKTABLE_RECIPE_REQUEST,
 	RECIPE_TRANSFER_REQUEST,
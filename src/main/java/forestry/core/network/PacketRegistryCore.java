@@ -26,6 +26,7 @@ import forestry.core.network.packets.PacketErrorUpdate;
 import forestry.core.network.packets.PacketErrorUpdateEntity;
 import forestry.core.network.packets.PacketFXSignal;
 import forestry.core.network.packets.PacketGenomeTrackerSync;
+import forestry.core.network.packets.PacketGenomeTrackerSyncRequest;
 import forestry.core.network.packets.PacketGuiEnergy;
 import forestry.core.network.packets.PacketGuiLayoutSelect;
 import forestry.core.network.packets.PacketGuiSelectRequest;
@@ -37,6 +38,7 @@ import forestry.core.network.packets.PacketSocketUpdate;
 import forestry.core.network.packets.PacketSolderingIronClick;
 import forestry.core.network.packets.PacketTankLevelUpdate;
 import forestry.core.network.packets.PacketTileStream;
+import forestry.core.network.packets.PacketTileUpdates;
 
 public class PacketRegistryCore implements IPacketRegistry {
 	@Override
@@ -48,6 +50,7 @@ public class PacketRegistryCore implements IPacketRegistry {
 		PacketIdServer.SELECT_CLIMATE_TARGETED.setPacketHandler(new PacketSelectClimateTargeted.Handler());
 		PacketIdServer.CLIMATE_LISTENER_UPDATE_REQUEST.setPacketHandler(new PacketClimateListenerUpdateRequest.Handler());
 		PacketIdServer.CLIMATE_LISTENER_UPDATE_REQUEST_ENTITY.setPacketHandler(new PacketClimateListenerUpdateEntityRequest.Handler());
+		PacketIdServer.GENOME_TRACKER_SYNC_REQUEST.setPacketHandler(new PacketGenomeTrackerSyncRequest.Handler());
 	}
 
 	@Override
@@ -61,6 +64,7 @@ public class PacketRegistryCore implements IPacketRegistry {
 		PacketIdClient.GUI_ENERGY.setPacketHandler(new PacketGuiEnergy.Handler());
 		PacketIdClient.SOCKET_UPDATE.setPacketHandler(new PacketSocketUpdate.Handler());
 		PacketIdClient.TILE_FORESTRY_UPDATE.setPacketHandler(new PacketTileStream.Handler());
+		PacketIdClient.TILE_UPDATES.setPacketHandler(new PacketTileUpdates.Handler());
 		PacketIdClient.TILE_FORESTRY_ACTIVE.setPacketHandler(new PacketActiveUpdate.Handler());
 		PacketIdClient.ITEMSTACK_DISPLAY.setPacketHandler(new PacketItemStackDisplay.Handler());
 		PacketIdClient.FX_SIGNAL.setPacketHandler(new PacketFXSignal.Handler());
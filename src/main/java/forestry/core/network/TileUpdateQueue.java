@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.network;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import net.minecraftforge.event.world.WorldEvent;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import forestry.core.network.packets.PacketTileUpdates;
+import forestry.core.utils.NetworkUtil;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+
+/**
+ * Collects tile update packets during a world tick and sends them at the end of the tick.
+ * <p>
+ * Only the last queued packet of every packet type and position is sent, so a tile that changes several times in a
+ * tick sends its latest state once. All updates of a chunk are sent together in one {@link PacketTileUpdates} to the
+ * players that watch the chunk.
+ * <p>
+ * Only used on the server.
+ */
+public class TileUpdateQueue {
+	private static final Map<World, TileUpdateQueue> queues = new HashMap<>();
+
+	private final Long2ObjectMap<Map<UpdateKey, IForestryPacketClient>> updatesByChunk = new Long2ObjectLinkedOpenHashMap<>();
+
+	/**
+	 * Queues the packet instead of sending it directly with {@link NetworkUtil#sendNetworkPacket(IForestryPacketClient, BlockPos, World)}.
+	 * Replaces the packet of the same type that was queued for the position in this tick.
+	 */
+	public static void queueUpdate(IForestryPacketClient packet, BlockPos pos, World world) {
+		if (!(world instanceof WorldServer)) {
+			return;
+		}
+		TileUpdateQueue queue = queues.computeIfAbsent(world, w -> new TileUpdateQueue());
+		long chunkKey = ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4);
+		Map<UpdateKey, IForestryPacketClient> updates = queue.updatesByChunk.get(chunkKey);
+		if (updates == null) {
+			updates = new LinkedHashMap<>();
+			queue.updatesByChunk.put(chunkKey, updates);
+		}
+		updates.put(new UpdateKey(pos, packet.getPacketId()), packet);
+	}
+
+	@SubscribeEvent
+	public void onWorldTick(TickEvent.WorldTickEvent event) {
+		if (event.phase != TickEvent.Phase.END) {
+			return;
+		}
+		TileUpdateQueue queue = queues.get(event.world);
+		if (queue != null) {
+			queue.flush(event.world);
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		queues.remove(event.getWorld());
+	}
+
+	private void flush(World world) {
+		if (updatesByChunk.isEmpty()) {
+			return;
+		}
+		for (Map<UpdateKey, IForestryPacketClient> updates : updatesByChunk.values()) {
+			BlockPos pos = updates.keySet().iterator().next().pos;
+			if (updates.size() == 1) {
+				NetworkUtil.sendNetworkPacket(updates.values().iterator().next(), pos, world);
+			} else {
+				sendBatches(updates.values(), pos, world);
+			}
+		}
+		updatesByChunk.clear();
+	}
+
+	private static void sendBatches(Collection<IForestryPacketClient> updates, BlockPos pos, World world) {
+		List<IForestryPacketClient> batch = new ArrayList<>();
+		for (IForestryPacketClient update : updates) {
+			batch.add(update);
+			if (batch.size() == PacketTileUpdates.MAX_UPDATES) {
+				NetworkUtil.sendNetworkPacket(new PacketTileUpdates(batch), pos, world);
+				batch = new ArrayList<>();
+			}
+		}
+		if (!batch.isEmpty()) {
+			NetworkUtil.sendNetworkPacket(new PacketTileUpdates(batch), pos, world);
+		}
+	}
+
+	private static final class UpdateKey {
+		private final BlockPos pos;
+		private final PacketIdClient packetId;
+
+		private UpdateKey(BlockPos pos, PacketIdClient packetId) {
+			this.pos = pos;
+			this.packetId = packetId;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof UpdateKey)) {
+				return false;
+			}
+			UpdateKey other = (UpdateKey) obj;
+			return packetId == other.packetId && pos.equals(other.pos);
+		}
+
+		@Override
+		public int hashCode() {
+			return pos.hashCode() * 31 + packetId.hashCode();
+		}
+	}
+}
@@ -10,7 +10,10 @@
  ******************************************************************************/
 package forestry.core.network.packets;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
@@ -25,17 +28,49 @@ import forestry.api.genetics.AlleleManager;
 import forestry.api.genetics.IBreedingTracker;
 import forestry.api.genetics.ISpeciesRoot;
 import forestry.core.genetics.BreedingTracker;
+import forestry.core.genetics.BreedingTrackerKeys;
 import forestry.core.network.ForestryPacket;
 import forestry.core.network.IForestryPacketClient;
 import forestry.core.network.IForestryPacketHandlerClient;
 import forestry.core.network.PacketBufferForestry;
 import forestry.core.network.PacketIdClient;
+import forestry.core.utils.NetworkUtil;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+/**
+ * Sends the discoveries of a breeding tracker to its owner, either everything or the discoveries between two revisions
+ * of the server tracker.
+ * <p>
+ * Discoveries are sent as the ids of {@link BreedingTrackerKeys}. Keys without a registered id and all keys for clients
+ * with other registered species or mutations are sent as strings.
+ */
 public class PacketGenomeTrackerSync extends ForestryPacket implements IForestryPacketClient {
-	private final NBTTagCompound nbt;
+	private static final int STRING_KEY_FLAG = 4;
+
+	private final String rootUid;
+	private final long epoch;
+	private final boolean full;
+	private final int fromRevision;
+	private final int toRevision;
+	@Nullable
+	private final String modeName;
+	@Nullable
+	private final NBTTagCompound syncData;
+	private final IntList entries;
+	private final boolean stringKeys;
 
-	public PacketGenomeTrackerSync(NBTTagCompound nbtTagCompound) {
-		this.nbt = nbtTagCompound;
+	public PacketGenomeTrackerSync(String rootUid, long epoch, boolean full, int fromRevision, int toRevision, @Nullable String modeName, @Nullable NBTTagCompound syncData, IntList entries, boolean stringKeys) {
+		this.rootUid = rootUid;
+		this.epoch = epoch;
+		this.full = full;
+		this.fromRevision = fromRevision;
+		this.toRevision = toRevision;
+		this.modeName = modeName;
+		this.syncData = syncData;
+		this.entries = entries;
+		this.stringKeys = stringKeys;
 	}
 
 	@Override
@@ -45,24 +80,104 @@ public class PacketGenomeTrackerSync extends ForestryPacket implements IForestry
 
 	@Override
 	protected void writeData(PacketBufferForestry data) {
-		data.writeCompoundTag(nbt);
+		data.writeString(rootUid);
+		data.writeLong(epoch);
+		data.writeBoolean(full);
+		data.writeVarInt(fromRevision);
+		data.writeVarInt(toRevision);
+		data.writeString(modeName == null ? "" : modeName);
+		data.writeBoolean(syncData != null);
+		if (syncData != null) {
+			data.writeCompoundTag(syncData);
+		}
+
+		int registeredCount = BreedingTrackerKeys.getRegisteredCount();
+		data.writeInt(BreedingTrackerKeys.getRegisteredKeysHash());
+		data.writeVarInt(entries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			int entry = entries.getInt(i);
+			int kind = BreedingTracker.getEntryKind(entry);
+			int id = BreedingTracker.getEntryId(entry);
+			if (stringKeys || id >= registeredCount) {
+				data.writeVarInt(kind | STRING_KEY_FLAG);
+				data.writeString(BreedingTrackerKeys.getKey(id));
+			} else {
+				data.writeVarInt(kind);
+				data.writeVarInt(id);
+			}
+		}
 	}
 
 	@SideOnly(Side.CLIENT)
 	public static class Handler implements IForestryPacketHandlerClient {
+		/**
+		 * The last synced tracker of every species root. The client creates new trackers for every world, the state of the
+		 * tracker of the previous world is carried over so the server only has to send a delta after a dimension change.
+		 */
+		private static final Map<String, BreedingTracker> syncedTrackers = new HashMap<>();
+
+		/**
+		 * Forgets the synced trackers after the client left the server.
+		 */
+		public static void clearSyncedTrackers() {
+			syncedTrackers.clear();
+		}
+
 		@Override
 		public void onPacketData(PacketBufferForestry data, EntityPlayer player) throws IOException {
-			NBTTagCompound nbt = data.readCompoundTag();
-			if (nbt != null) {
-				String type = nbt.getString(BreedingTracker.TYPE_KEY);
-
-				ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(type);
-				if (root != null) {
-					IBreedingTracker tracker = root.getBreedingTracker(player.getEntityWorld(), player.getGameProfile());
-					tracker.decodeFromNBT(nbt);
-					MinecraftForge.EVENT_BUS.post(new ForestryEvent.SyncedBreedingTracker(tracker, player));
+			String rootUid = data.readString();
+			long epoch = data.readLong();
+			boolean full = data.readBoolean();
+			int fromRevision = data.readVarInt();
+			int toRevision = data.readVarInt();
+			String modeName = data.readString();
+			NBTTagCompound syncData = data.readBoolean() ? data.readCompoundTag() : null;
+
+			boolean idsValid = data.readInt() == BreedingTrackerKeys.getRegisteredKeysHash();
+			boolean needsStringKeys = false;
+			int count = data.readVarInt();
+			IntList entries = new IntArrayList(count);
+			for (int i = 0; i < count; i++) {
+				int header = data.readVarInt();
+				int kind = header & ~STRING_KEY_FLAG;
+				if ((header & STRING_KEY_FLAG) != 0) {
+					entries.add(BreedingTracker.encodeEntry(kind, BreedingTrackerKeys.getId(data.readString())));
+				} else {
+					int id = data.readVarInt();
+					if (idsValid) {
+						entries.add(BreedingTracker.encodeEntry(kind, id));
+					} else {
+						needsStringKeys = true;
+					}
 				}
 			}
+
+			ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(rootUid);
+			if (root == null) {
+				return;
+			}
+			IBreedingTracker tracker = root.getBreedingTracker(player.getEntityWorld(), player.getGameProfile());
+			if (!(tracker instanceof BreedingTracker)) {
+				return;
+			}
+			if (needsStringKeys) {
+				NetworkUtil.sendToServer(new PacketGenomeTrackerSyncRequest(rootUid, true));
+				return;
+			}
+
+			BreedingTracker breedingTracker = (BreedingTracker) tracker;
+			if (!full && !breedingTracker.isSyncedWith(epoch, fromRevision)) {
+				BreedingTracker previousTracker = syncedTrackers.get(rootUid);
+				if (previousTracker != null && previousTracker != breedingTracker && previousTracker.isSyncedWith(epoch, fromRevision)) {
+					breedingTracker.copySyncedState(previousTracker);
+				}
+			}
+			if (!breedingTracker.applySync(epoch, full, fromRevision, toRevision, modeName, syncData, entries)) {
+				NetworkUtil.sendToServer(new PacketGenomeTrackerSyncRequest(rootUid, false));
+				return;
+			}
+			syncedTrackers.put(rootUid, breedingTracker);
+			MinecraftForge.EVENT_BUS.post(new ForestryEvent.SyncedBreedingTracker(breedingTracker, player));
 		}
 	}
 }
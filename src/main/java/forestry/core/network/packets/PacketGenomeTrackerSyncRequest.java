@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.network.packets;
+
+import java.io.IOException;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+
+import forestry.api.genetics.AlleleManager;
+import forestry.api.genetics.IBreedingTracker;
+import forestry.api.genetics.ISpeciesRoot;
+import forestry.core.genetics.BreedingTracker;
+import forestry.core.network.ForestryPacket;
+import forestry.core.network.IForestryPacketHandlerServer;
+import forestry.core.network.IForestryPacketServer;
+import forestry.core.network.PacketBufferForestry;
+import forestry.core.network.PacketIdServer;
+
+/**
+ * Requests a full sync of a breeding tracker if the client could not apply a {@link PacketGenomeTrackerSync}.
+ */
+public class PacketGenomeTrackerSyncRequest extends ForestryPacket implements IForestryPacketServer {
+	private final String rootUid;
+	private final boolean stringKeys;
+
+	public PacketGenomeTrackerSyncRequest(String rootUid, boolean stringKeys) {
+		this.rootUid = rootUid;
+		this.stringKeys = stringKeys;
+	}
+
+	@Override
+	protected void writeData(PacketBufferForestry data) {
+		data.writeString(rootUid);
+		data.writeBoolean(stringKeys);
+	}
+
+	@Override
+	public PacketIdServer getPacketId() {
+		return PacketIdServer.GENOME_TRACKER_SYNC_REQUEST;
+	}
+
+	public static class Handler implements IForestryPacketHandlerServer {
+
+		@Override
+		public void onPacketData(PacketBufferForestry data, EntityPlayerMP player) throws IOException {
+			String rootUid = data.readString();
+			boolean stringKeys = data.readBoolean();
+			ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(rootUid);
+			if (root != null) {
+				IBreedingTracker tracker = root.getBreedingTracker(player.world, player.getGameProfile());
+				if (tracker instanceof BreedingTracker) {
+					((BreedingTracker) tracker).requestFullSync(player, stringKeys);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.network.packets;
+
+import java.io.IOException;
+import java.util.List;
+
+import net.minecraft.entity.player.EntityPlayer;
+
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import forestry.core.network.ForestryPacket;
+import forestry.core.network.IForestryPacketClient;
+import forestry.core.network.IForestryPacketHandlerClient;
+import forestry.core.network.PacketBufferForestry;
+import forestry.core.network.PacketIdClient;
+import forestry.core.network.TileUpdateQueue;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Several tile update packets of one chunk, sent by the {@link TileUpdateQueue}.
+ * The client handles the contained packets in order with their own handlers.
+ */
+public class PacketTileUpdates extends ForestryPacket implements IForestryPacketClient {
+	public static final int MAX_UPDATES = 512;
+
+	private final List<IForestryPacketClient> updates;
+
+	public PacketTileUpdates(List<IForestryPacketClient> updates) {
+		this.updates = updates;
+	}
+
+	@Override
+	public PacketIdClient getPacketId() {
+		return PacketIdClient.TILE_UPDATES;
+	}
+
+	@Override
+	protected void writeData(PacketBufferForestry data) {
+		data.writeVarInt(updates.size());
+		for (IForestryPacketClient update : updates) {
+			// the payload starts with the id of the packet
+			ByteBuf payload = update.getPacket().payload();
+			data.writeVarInt(payload.readableBytes());
+			data.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+		}
+	}
+
+	@SideOnly(Side.CLIENT)
+	public static class Handler implements IForestryPacketHandlerClient {
+		@Override
+		public void onPacketData(PacketBufferForestry data, EntityPlayer player) throws IOException {
+			int count = data.readVarInt();
+			for (int i = 0; i < count; i++) {
+				int length = data.readVarInt();
+				PacketBufferForestry update = new PacketBufferForestry(data.readSlice(length));
+				byte packetIdOrdinal = update.readByte();
+				PacketIdClient packetId = PacketIdClient.VALUES[packetIdOrdinal];
+				packetId.getPacketHandler().onPacketData(update, player);
+			}
+		}
+	}
+}
@@ -18,8 +18,10 @@ import net.minecraft.item.Item;
 
 import net.minecraftforge.common.MinecraftForge;
 
+import forestry.core.ResupplyScheduler;
 import forestry.core.TickHandlerCoreServer;
 import forestry.core.multiblock.MultiblockServerTickHandler;
+import forestry.core.network.TileUpdateQueue;
 import forestry.core.worldgen.WorldGenerator;
 
 public class ProxyCommon {
@@ -37,6 +39,12 @@ public class ProxyCommon {
 
 		MultiblockServerTickHandler multiblockServerTickHandler = new MultiblockServerTickHandler();
 		MinecraftForge.EVENT_BUS.register(multiblockServerTickHandler);
+
+		TileUpdateQueue tileUpdateQueue = new TileUpdateQueue();
+		MinecraftForge.EVENT_BUS.register(tileUpdateQueue);
+
+		ResupplyScheduler resupplyScheduler = new ResupplyScheduler();
+		MinecraftForge.EVENT_BUS.register(resupplyScheduler);
 	}
 
 	public void registerEventHandlers() {
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.recipes;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+/**
+ * Buckets the recipes of a machine by lookup keys, like the input item, an ore dictionary id or the input fluid.
+ * <p>
+ * A recipe is put into the bucket of every key it returns, recipes without keys are candidates for every lookup.
+ * Keys of different types never collide, so one index can mix items, ore ids and fluids.
+ * {@link #findFirst(Collection, Predicate)} only tests the recipes of the requested buckets and returns the same
+ * recipe a linear scan over the original collection would have found.
+ * <p>
+ * Recipe managers create the index lazily and drop it when recipes are added or removed.
+ */
+public final class RecipeIndex<R> {
+	private final List<R> recipes;
+	private final Map<Object, IntList> buckets = new HashMap<>();
+	private final IntList unkeyedRecipes = new IntArrayList();
+	private final Map<R, Integer> positions = new IdentityHashMap<>();
+
+	public RecipeIndex(Collection<? extends R> recipes, Function<R, Collection<?>> keyFunction) {
+		this.recipes = new ArrayList<>(recipes);
+		for (int i = 0; i < this.recipes.size(); i++) {
+			positions.put(this.recipes.get(i), i);
+			Collection<?> keys = keyFunction.apply(this.recipes.get(i));
+			if (keys.isEmpty()) {
+				unkeyedRecipes.add(i);
+			}
+			for (Object key : keys) {
+				IntList bucket = buckets.computeIfAbsent(key, k -> new IntArrayList());
+				// a recipe can return the same key twice
+				if (bucket.isEmpty() || bucket.getInt(bucket.size() - 1) != i) {
+					bucket.add(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the first recipe, in the order of the collection the index was created from, that is in the bucket
+	 * of one of the given keys and matches.
+	 */
+	@Nullable
+	public R findFirst(Collection<?> keys, Predicate<R> matcher) {
+		return findFirstMatch(keys, recipe -> matcher.test(recipe) ? recipe : null);
+	}
+
+	/**
+	 * Same as {@link #findFirst(Collection, Predicate)} when the given recipe is already known to match,
+	 * only the recipes that come before it are tested.
+	 */
+	public R findFirst(Collection<?> keys, Predicate<R> matcher, R matchingRecipe) {
+		Integer position = positions.get(matchingRecipe);
+		int end = position == null ? Integer.MAX_VALUE : position;
+		R recipe = findMatch(keys, candidate -> matcher.test(candidate) ? candidate : null, end);
+		return recipe == null ? matchingRecipe : recipe;
+	}
+
+	/**
+	 * Same as {@link #findFirst(Collection, Predicate)}, for matchers that return what they matched or null.
+	 *
+	 * @return the result of the matcher for the first recipe that matches.
+	 */
+	@Nullable
+	public <M> M findFirstMatch(Collection<?> keys, Function<R, M> matcher) {
+		return findMatch(keys, matcher, Integer.MAX_VALUE);
+	}
+
+	@Nullable
+	private <M> M findMatch(Collection<?> keys, Function<R, M> matcher, int end) {
+		M match = null;
+		int best = end;
+		Iterator<?> keyIterator = keys.iterator();
+		IntList bucket = unkeyedRecipes;
+		while (true) {
+			if (bucket != null) {
+				for (int i = 0; i < bucket.size(); i++) {
+					int index = bucket.getInt(i);
+					// buckets are sorted, every following recipe comes later than the best match
+					if (index >= best) {
+						break;
+					}
+					M candidateMatch = matcher.apply(recipes.get(index));
+					if (candidateMatch != null) {
+						match = candidateMatch;
+						best = index;
+						break;
+					}
+				}
+			}
+			if (!keyIterator.hasNext()) {
+				return match;
+			}
+			bucket = buckets.get(keyIterator.next());
+		}
+	}
+}
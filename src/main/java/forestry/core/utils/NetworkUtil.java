@@ -17,6 +17,7 @@ import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.management.PlayerChunkMap;
+import net.minecraft.server.management.PlayerChunkMapEntry;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
@@ -31,6 +32,10 @@ import forestry.core.network.IForestryPacketClient;
 import forestry.core.network.IForestryPacketServer;
 
 public class NetworkUtil {
+	/**
+	 * Sends the packet to every player that watches the chunk of the given position.
+	 * The packet is encoded once and the same payload is sent to all watching players of the chunk.
+	 */
 	public static <P extends IForestryPacketClient> void sendNetworkPacket(P packet, BlockPos pos, World world) {
 		if (!(world instanceof WorldServer)) {
 			return;
@@ -42,14 +47,10 @@ public class NetworkUtil {
 		int chunkX = pos.getX() >> 4;
 		int chunkZ = pos.getZ() >> 4;
 
-		for (Object playerObj : world.playerEntities) {
-			if (playerObj instanceof EntityPlayerMP) {
-				EntityPlayerMP player = (EntityPlayerMP) playerObj;
-
-				if (playerManager.isPlayerWatchingChunk(player, chunkX, chunkZ)) {
-					sendToPlayer(packet, player);
-				}
-			}
+		// same players as PlayerChunkMap#isPlayerWatchingChunk, without a scan over all players of the world
+		PlayerChunkMapEntry entry = playerManager.getEntry(chunkX, chunkZ);
+		if (entry != null && entry.isSentToPlayers()) {
+			entry.sendPacket(packet.getPacket());
 		}
 	}
 
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.utils.datastructures;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
+/**
+ * Buckets entities of one type into 16x16x16 cells by their position, so box queries only look at the entities of the
+ * cells around the box instead of all entities of the chunks.
+ * <p>
+ * The owner has to call {@link #update(Entity)} after an entity moved.
+ */
+public class EntitySpatialHash<E extends Entity> {
+	private static final int CELL_SHIFT = 4;
+	/* Entities are bucketed by their position, but their bounding box can reach into the neighbour cells. Same as World.MAX_ENTITY_RADIUS */
+	private static final double MAX_ENTITY_RADIUS = 2.0D;
+
+	private final Long2ObjectMap<List<E>> cells = new Long2ObjectOpenHashMap<>();
+	private final Reference2LongMap<E> entityCells = new Reference2LongOpenHashMap<>();
+
+	public void add(E entity) {
+		if (entityCells.containsKey(entity)) {
+			return;
+		}
+		long cellKey = getCellKey(entity);
+		entityCells.put(entity, cellKey);
+		addToCell(cellKey, entity);
+	}
+
+	public void remove(E entity) {
+		if (!entityCells.containsKey(entity)) {
+			return;
+		}
+		long cellKey = entityCells.removeLong(entity);
+		removeFromCell(cellKey, entity);
+	}
+
+	/**
+	 * Moves the entity to the cell of its current position.
+	 */
+	public void update(E entity) {
+		if (!entityCells.containsKey(entity)) {
+			return;
+		}
+		long cellKey = getCellKey(entity);
+		long oldCellKey = entityCells.put(entity, cellKey);
+		if (oldCellKey != cellKey) {
+			removeFromCell(oldCellKey, entity);
+			addToCell(cellKey, entity);
+		}
+	}
+
+	public int size() {
+		return entityCells.size();
+	}
+
+	/**
+	 * @return all entities whose bounding box intersects the given box, like World#getEntitiesWithinAABB.
+	 */
+	public List<E> getEntitiesWithinAABB(AxisAlignedBB box) {
+		List<E> entities = new ArrayList<>();
+		collectEntities(box, entities, false);
+		return entities;
+	}
+
+	/**
+	 * @return true if the bounding box of any entity intersects the given box.
+	 */
+	public boolean hasEntityWithinAABB(AxisAlignedBB box) {
+		return collectEntities(box, null, true);
+	}
+
+	private boolean collectEntities(AxisAlignedBB box, @Nullable List<E> entities, boolean findAny) {
+		int minX = MathHelper.floor(box.minX - MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		int maxX = MathHelper.floor(box.maxX + MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		int minY = MathHelper.floor(box.minY - MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		int maxY = MathHelper.floor(box.maxY + MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		int minZ = MathHelper.floor(box.minZ - MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		int maxZ = MathHelper.floor(box.maxZ + MAX_ENTITY_RADIUS) >> CELL_SHIFT;
+		boolean found = false;
+		for (int x = minX; x <= maxX; x++) {
+			for (int z = minZ; z <= maxZ; z++) {
+				for (int y = minY; y <= maxY; y++) {
+					List<E> cell = cells.get(getCellKey(x, y, z));
+					if (cell == null) {
+						continue;
+					}
+					for (E entity : cell) {
+						if (entity.getEntityBoundingBox().intersects(box)) {
+							if (findAny) {
+								return true;
+							}
+							found = true;
+							if (entities != null) {
+								entities.add(entity);
+							}
+						}
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	private void addToCell(long cellKey, E entity) {
+		List<E> cell = cells.get(cellKey);
+		if (cell == null) {
+			cell = new ArrayList<>(4);
+			cells.put(cellKey, cell);
+		}
+		cell.add(entity);
+	}
+
+	private void removeFromCell(long cellKey, E entity) {
+		List<E> cell = cells.get(cellKey);
+		if (cell != null) {
+			cell.remove(entity);
+			if (cell.isEmpty()) {
+				cells.remove(cellKey);
+			}
+		}
+	}
+
+	private static long getCellKey(Entity entity) {
+		return getCellKey(MathHelper.floor(entity.posX) >> CELL_SHIFT, MathHelper.floor(entity.posY) >> CELL_SHIFT, MathHelper.floor(entity.posZ) >> CELL_SHIFT);
+	}
+
+	private static long getCellKey(int cellX, int cellY, int cellZ) {
+		return ((long) cellX & 0x3FFFFFFL) << 38 | ((long) cellY & 0xFFFL) << 26 | ((long) cellZ & 0x3FFFFFFL);
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.core.worldgen;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagLongArray;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+
+import forestry.core.TickHandlerCoreServer;
+import forestry.core.config.Config;
+import forestry.core.utils.NBTUtilForestry;
+
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+/**
+ * The chunks of a dimension that still need the retrogen of Forestry's world generation, see {@link Config#doRetrogen}.
+ * <p>
+ * The queue is saved with the dimension, chunks that were queued before a restart get their retrogen after it.
+ * Only loaded chunks are tried, {@link TickHandlerCoreServer} runs them within the time budget of a tick,
+ * see {@link Config#retrogenTickBudget}.
+ */
+public class RetrogenQueue extends WorldSavedData {
+	static final String NAME = "forestry_retrogen";
+	private static final String PENDING_KEY = "Pending";
+	private static final String PROCESSED_KEY = "Processed";
+
+	private final LongSet pendingChunks = new LongOpenHashSet();
+	// the pending chunks that are loaded, in the order they are tried
+	private final LongLinkedOpenHashSet loadedChunks = new LongLinkedOpenHashSet();
+	private long processedChunks;
+	// the time spent in the retrogen since the dimension was loaded
+	private long retrogenNanos;
+	private int retrogenCount;
+
+	public RetrogenQueue(String name) {
+		super(name);
+	}
+
+	public static RetrogenQueue get(World world) {
+		MapStorage storage = world.getPerWorldStorage();
+		RetrogenQueue queue = (RetrogenQueue) storage.getOrLoadData(RetrogenQueue.class, NAME);
+		if (queue == null) {
+			queue = new RetrogenQueue(NAME);
+
+			storage.setData(NAME, queue);
+		}
+		return queue;
+	}
+
+	/**
+	 * Queues a chunk that was just loaded.
+	 */
+	public void addChunk(int chunkX, int chunkZ) {
+		long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+		if (pendingChunks.add(chunkKey)) {
+			markDirty();
+		}
+		loadedChunks.add(chunkKey);
+	}
+
+	public void onChunkLoaded(int chunkX, int chunkZ) {
+		long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+		if (pendingChunks.contains(chunkKey)) {
+			loadedChunks.add(chunkKey);
+		}
+	}
+
+	public void onChunkUnloaded(int chunkX, int chunkZ) {
+		loadedChunks.remove(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	public boolean isPending(int chunkX, int chunkZ) {
+		return pendingChunks.contains(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	public boolean hasLoadedChunks() {
+		return !loadedChunks.isEmpty();
+	}
+
+	public int getLoadedChunkCount() {
+		return loadedChunks.size();
+	}
+
+	public int getPendingChunkCount() {
+		return pendingChunks.size();
+	}
+
+	public long getProcessedChunkCount() {
+		return processedChunks;
+	}
+
+	/**
+	 * @return the average time of the retrogen of a chunk in microseconds, since the dimension was loaded.
+	 */
+	public long getAverageRetrogenMicros() {
+		return retrogenCount == 0 ? 0 : retrogenNanos / retrogenCount / 1000;
+	}
+
+	/**
+	 * Removes the next loaded chunk that should be tried. Call {@link #retry(long)} or {@link #onRetrogen(long, long)} with it.
+	 */
+	public long pollLoadedChunk() {
+		return loadedChunks.removeFirstLong();
+	}
+
+	/**
+	 * Tries the chunk again after all other loaded chunks.
+	 */
+	public void retry(long chunkKey) {
+		loadedChunks.add(chunkKey);
+	}
+
+	/**
+	 * Marks the chunk as done, after its retrogen took the given time.
+	 */
+	public void onRetrogen(long chunkKey, long nanos) {
+		pendingChunks.remove(chunkKey);
+		processedChunks++;
+		retrogenNanos += nanos;
+		retrogenCount++;
+		markDirty();
+	}
+
+	@Override
+	public void readFromNBT(NBTTagCompound nbt) {
+		pendingChunks.clear();
+		loadedChunks.clear();
+		for (long chunkKey : NBTUtilForestry.getLongArray(nbt.getTag(PENDING_KEY))) {
+			pendingChunks.add(chunkKey);
+		}
+		processedChunks = nbt.getLong(PROCESSED_KEY);
+	}
+
+	@Override
+	public NBTTagCompound writeToNBT(NBTTagCompound nbt) {
+		nbt.setTag(PENDING_KEY, new NBTTagLongArray(pendingChunks.toLongArray()));
+		nbt.setLong(PROCESSED_KEY, processedChunks);
+		return nbt;
+	}
+}
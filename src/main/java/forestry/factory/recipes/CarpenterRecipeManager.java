@@ -11,13 +11,16 @@
 package forestry.factory.recipes;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
 import net.minecraftforge.fluids.Fluid;
@@ -26,15 +29,20 @@ import net.minecraftforge.fluids.FluidStack;
 import forestry.api.recipes.ICarpenterManager;
 import forestry.api.recipes.ICarpenterRecipe;
 import forestry.api.recipes.IDescriptiveRecipe;
+import forestry.core.recipes.RecipeIndex;
 import forestry.core.recipes.RecipePair;
 import forestry.core.recipes.RecipeUtil;
 import forestry.core.recipes.ShapedRecipeCustom;
 import forestry.core.utils.ItemStackUtil;
 
+import org.apache.commons.lang3.tuple.Pair;
+
 public class CarpenterRecipeManager implements ICarpenterManager {
 
 	private static final Set<ICarpenterRecipe> recipes = new HashSet<>();
 	private static final Set<Fluid> recipeFluids = new HashSet<>();
+	@Nullable
+	private static volatile RecipeIndex<ICarpenterRecipe> recipeIndex;
 
 	@Override
 	public void addRecipe(ItemStack box, ItemStack product, Object materials[]) {
@@ -54,13 +62,42 @@ public class CarpenterRecipeManager implements ICarpenterManager {
 
 	@Nullable
 	public static RecipePair<ICarpenterRecipe> findMatchingRecipe(@Nullable FluidStack liquid, ItemStack item, IInventory inventorycrafting) {
-		for (ICarpenterRecipe recipe : recipes) {
-			String[][] resourceDicts = matches(recipe, liquid, item, inventorycrafting);
-			if (resourceDicts != null) {
-				return new RecipePair(recipe, resourceDicts);
+		Fluid fluid = liquid == null ? null : liquid.getFluid();
+		Item box = item.isEmpty() ? null : item.getItem();
+		List<Pair<Fluid, Item>> keys = new ArrayList<>(4);
+		keys.add(Pair.of(null, null));
+		if (fluid != null) {
+			keys.add(Pair.of(fluid, null));
+		}
+		if (box != null) {
+			keys.add(Pair.of(null, box));
+			if (fluid != null) {
+				keys.add(Pair.of(fluid, box));
 			}
 		}
-		return RecipePair.EMPTY;
+
+		RecipePair<ICarpenterRecipe> recipePair = getRecipeIndex().findFirstMatch(keys, candidate -> {
+			String[][] resourceMatch = matches(candidate, liquid, item, inventorycrafting);
+			return resourceMatch == null ? null : new RecipePair<>(candidate, resourceMatch);
+		});
+		return recipePair == null ? RecipePair.EMPTY : recipePair;
+	}
+
+	private static RecipeIndex<ICarpenterRecipe> getRecipeIndex() {
+		RecipeIndex<ICarpenterRecipe> index = recipeIndex;
+		if (index == null) {
+			index = recipeIndex = new RecipeIndex<>(recipes, CarpenterRecipeManager::getRecipeKey);
+		}
+		return index;
+	}
+
+	/**
+	 * Recipes are found by their fluid and the item of their box, null if the recipe does not need one.
+	 */
+	private static Collection<?> getRecipeKey(ICarpenterRecipe recipe) {
+		FluidStack liquid = recipe.getFluidResource();
+		ItemStack box = recipe.getBox();
+		return Collections.singletonList(Pair.of(liquid == null ? null : liquid.getFluid(), box.isEmpty() ? null : box.getItem()));
 	}
 
 	public static String[][] matches(@Nullable ICarpenterRecipe recipe, @Nullable FluidStack resource, ItemStack item, IInventory inventoryCrafting) {
@@ -101,6 +138,7 @@ public class CarpenterRecipeManager implements ICarpenterManager {
 
 	@Override
 	public boolean addRecipe(ICarpenterRecipe recipe) {
+		recipeIndex = null;
 		return recipes.add(recipe);
 	}
 
@@ -109,6 +147,7 @@ public class CarpenterRecipeManager implements ICarpenterManager {
 		boolean removed = recipes.remove(recipe);
 		if (removed) {
 			recipeFluids.clear();
+			recipeIndex = null;
 		}
 		return removed;
 	}
@@ -11,8 +11,11 @@
 package forestry.factory.recipes;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -21,9 +24,11 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.oredict.OreDictionary;
 
 import forestry.api.recipes.IFermenterManager;
 import forestry.api.recipes.IFermenterRecipe;
+import forestry.core.recipes.RecipeIndex;
 import forestry.core.utils.ItemStackUtil;
 
 public class FermenterRecipeManager implements IFermenterManager {
@@ -31,6 +36,8 @@ public class FermenterRecipeManager implements IFermenterManager {
 	private static final Set<IFermenterRecipe> recipes = new TreeSet<>();
 	public static final Set<Fluid> recipeFluidInputs = new HashSet<>();
 	public static final Set<Fluid> recipeFluidOutputs = new HashSet<>();
+	@Nullable
+	private static volatile RecipeIndex<IFermenterRecipe> recipeIndex;
 
 	@Override
 	public void addRecipe(ItemStack resource, int fermentationValue, float modifier, FluidStack output, FluidStack liquid) {
@@ -59,12 +66,50 @@ public class FermenterRecipeManager implements IFermenterManager {
 		if (res.isEmpty()) {
 			return null;
 		}
-		for (IFermenterRecipe recipe : recipes) {
-			if (matches(recipe, res, liqu)) {
-				return recipe;
-			}
+		return getRecipeIndex().findFirst(getLookupKeys(res), recipe -> matches(recipe, res, liqu));
+	}
+
+	/**
+	 * Same as {@link #findMatchingRecipe(ItemStack, FluidStack)} when the given recipe is already known to match,
+	 * only the recipes that would be found before it are tested.
+	 */
+	public static IFermenterRecipe findMatchingRecipe(ItemStack res, FluidStack liqu, IFermenterRecipe matchingRecipe) {
+		return getRecipeIndex().findFirst(getLookupKeys(res), recipe -> matches(recipe, res, liqu), matchingRecipe);
+	}
+
+	private static RecipeIndex<IFermenterRecipe> getRecipeIndex() {
+		RecipeIndex<IFermenterRecipe> index = recipeIndex;
+		if (index == null) {
+			index = recipeIndex = new RecipeIndex<>(recipes, FermenterRecipeManager::getRecipeKeys);
+		}
+		return index;
+	}
+
+	/**
+	 * Recipes are found by the item of their resource, the meta is compared by the recipe to support wildcards,
+	 * and by the id of their ore dictionary name.
+	 */
+	private static Collection<?> getRecipeKeys(IFermenterRecipe recipe) {
+		List<Object> keys = new ArrayList<>(2);
+		ItemStack resource = recipe.getResource();
+		if (!resource.isEmpty()) {
+			keys.add(resource.getItem());
+		}
+		String oreName = recipe.getResourceOreName();
+		if (oreName != null && !oreName.isEmpty()) {
+			keys.add(OreDictionary.getOreID(oreName));
 		}
-		return null;
+		return keys;
+	}
+
+	private static Collection<?> getLookupKeys(ItemStack resource) {
+		int[] oreIds = OreDictionary.getOreIDs(resource);
+		List<Object> keys = new ArrayList<>(oreIds.length + 1);
+		keys.add(resource.getItem());
+		for (int oreId : oreIds) {
+			keys.add(oreId);
+		}
+		return keys;
 	}
 
 	public static boolean matches(IFermenterRecipe recipe, ItemStack res, FluidStack liqu) {
@@ -82,12 +127,7 @@ public class FermenterRecipeManager implements IFermenterManager {
 			return false;
 		}
 
-		for (IFermenterRecipe recipe : recipes) {
-			if (ItemStackUtil.isCraftingEquivalent(recipe.getResource(), resource, recipe.getResourceOreName(), false)) {
-				return true;
-			}
-		}
-		return false;
+		return getRecipeIndex().findFirst(getLookupKeys(resource), recipe -> ItemStackUtil.isCraftingEquivalent(recipe.getResource(), resource, recipe.getResourceOreName(), false)) != null;
 	}
 
 	@Override
@@ -98,6 +138,7 @@ public class FermenterRecipeManager implements IFermenterManager {
 		Fluid output = recipe.getOutput();
 		recipeFluidOutputs.add(output);
 
+		recipeIndex = null;
 		return recipes.add(recipe);
 	}
 
@@ -109,6 +150,7 @@ public class FermenterRecipeManager implements IFermenterManager {
 		Fluid output = recipe.getOutput();
 		recipeFluidOutputs.remove(output);
 
+		recipeIndex = null;
 		return recipes.remove(recipe);
 	}
 
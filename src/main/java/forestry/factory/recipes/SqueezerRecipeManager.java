@@ -11,10 +11,12 @@
 package forestry.factory.recipes;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.NonNullList;
 
@@ -23,6 +25,7 @@ import net.minecraftforge.fluids.FluidStack;
 import forestry.api.recipes.ISqueezerManager;
 import forestry.api.recipes.ISqueezerRecipe;
 import forestry.core.fluids.FluidHelper;
+import forestry.core.recipes.RecipeIndex;
 import forestry.core.utils.ItemStackUtil;
 import forestry.core.utils.datastructures.ItemStackMap;
 
@@ -30,6 +33,8 @@ public class SqueezerRecipeManager implements ISqueezerManager {
 
 	private static final Set<ISqueezerRecipe> recipes = new HashSet<>();
 	public static final ItemStackMap<ISqueezerContainerRecipe> containerRecipes = new ItemStackMap<>();
+	@Nullable
+	private static volatile RecipeIndex<ISqueezerRecipe> recipeIndex;
 
 	@Override
 	public void addRecipe(int timePerItem, NonNullList<ItemStack> resources, FluidStack liquid, ItemStack remnants, int chance) {
@@ -83,13 +88,32 @@ public class SqueezerRecipeManager implements ISqueezerManager {
 			}
 		}
 
-		for (ISqueezerRecipe recipe : recipes) {
-			if (ItemStackUtil.containsSets(recipe.getResources(), items, false, false) > 0) {
-				return recipe;
+		Set<Item> offeredItems = new HashSet<>();
+		for (ItemStack itemStack : items) {
+			if (!itemStack.isEmpty()) {
+				offeredItems.add(itemStack.getItem());
 			}
 		}
+		return getRecipeIndex().findFirst(offeredItems, recipe -> ItemStackUtil.containsSets(recipe.getResources(), items, false, false) > 0);
+	}
+
+	private static RecipeIndex<ISqueezerRecipe> getRecipeIndex() {
+		RecipeIndex<ISqueezerRecipe> index = recipeIndex;
+		if (index == null) {
+			index = recipeIndex = new RecipeIndex<>(recipes, SqueezerRecipeManager::getRecipeKeys);
+		}
+		return index;
+	}
 
-		return null;
+	/**
+	 * A recipe can only match if the item of its first resource is offered, so it is enough to find it by that item.
+	 */
+	private static Collection<?> getRecipeKeys(ISqueezerRecipe recipe) {
+		NonNullList<ItemStack> resources = recipe.getResources();
+		if (resources.isEmpty() || resources.get(0).isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(resources.get(0).getItem());
 	}
 
 	public static boolean canUse(ItemStack itemStack) {
@@ -106,11 +130,13 @@ public class SqueezerRecipeManager implements ISqueezerManager {
 
 	@Override
 	public boolean addRecipe(ISqueezerRecipe recipe) {
+		recipeIndex = null;
 		return recipes.add(recipe);
 	}
 
 	@Override
 	public boolean removeRecipe(ISqueezerRecipe recipe) {
+		recipeIndex = null;
 		return recipes.remove(recipe);
 	}
 
@@ -63,6 +63,9 @@ public class TileFermenter extends TilePowered implements ISidedInventory, ILiqu
 
 	@Nullable
 	private IFermenterRecipe currentRecipe;
+	// the last recipe this fermenter found, most fermenters process the same resource over and over
+	@Nullable
+	private IFermenterRecipe lastRecipe;
 	private float currentResourceModifier;
 	private int fermentationTime = 0;
 	private int fermentationTotalTime = 0;
@@ -170,7 +173,15 @@ public class TileFermenter extends TilePowered implements ISidedInventory, ILiqu
 		FluidStack fluid = resourceTank.getFluid();
 
 		if (fluid != null) {
-			currentRecipe = FermenterRecipeManager.findMatchingRecipe(resource, fluid);
+			if (lastRecipe != null && !resource.isEmpty() && FermenterRecipeManager.matches(lastRecipe, resource, fluid)) {
+				// an earlier recipe can match the same resource, f.e. a recipe for the item before an ore dictionary recipe
+				currentRecipe = FermenterRecipeManager.findMatchingRecipe(resource, fluid, lastRecipe);
+			} else {
+				currentRecipe = FermenterRecipeManager.findMatchingRecipe(resource, fluid);
+			}
+			if (currentRecipe != null) {
+				lastRecipe = currentRecipe;
+			}
 		}
 
 		fermentationTotalTime = fermentationTime = currentRecipe == null ? 0 : currentRecipe.getFermentationValue();
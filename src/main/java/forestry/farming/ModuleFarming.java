@@ -28,9 +28,15 @@ import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 
 import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.terraingen.SaplingGrowTreeEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.oredict.OreDictionary;
 
 import net.minecraftforge.fml.common.SidedProxy;
@@ -89,6 +95,7 @@ import forestry.farming.logic.farmables.FarmableStacked;
 import forestry.farming.logic.farmables.FarmableVanillaMushroom;
 import forestry.farming.logic.farmables.FarmableVanillaSapling;
 import forestry.farming.models.EnumFarmBlockTexture;
+import forestry.farming.multiblock.FarmTargetTracker;
 import forestry.farming.proxy.ProxyFarming;
 import forestry.farming.tiles.TileFarmControl;
 import forestry.farming.tiles.TileFarmGearbox;
@@ -136,6 +143,8 @@ public class ModuleFarming extends BlankForestryModule {
 		BlockRegistryFarming blocks = getBlocks();
 
 		MinecraftForge.EVENT_BUS.register(this);
+		// sapling growth is posted on the terrain gen bus
+		MinecraftForge.TERRAIN_GEN_BUS.register(this);
 		IFarmRegistry registry = ForestryAPI.farmRegistry;
 
 		registry.registerFarmables(ForestryFarmIdentifier.ARBOREAL, new FarmableVanillaSapling());
@@ -399,4 +408,45 @@ public class ModuleFarming extends BlankForestryModule {
 	public void handleTextureRemap(TextureStitchEvent.Pre event) {
 		EnumFarmBlockType.registerSprites();
 	}
+
+	@SubscribeEvent
+	public void onBlockChanged(BlockEvent.NeighborNotifyEvent event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			FarmTargetTracker.onBlockChanged(world, event.getPos());
+		}
+	}
+
+	@SubscribeEvent
+	public void onCropGrow(BlockEvent.CropGrowEvent.Post event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			FarmTargetTracker.onBlockChanged(world, event.getPos());
+		}
+	}
+
+	@SubscribeEvent
+	public void onSaplingGrow(SaplingGrowTreeEvent event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			FarmTargetTracker.onBlockChanged(world, event.getPos());
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkLoad(ChunkEvent.Load event) {
+		Chunk chunk = event.getChunk();
+		FarmTargetTracker.onChunkChanged(event.getWorld(), chunk.x, chunk.z);
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(ChunkEvent.Unload event) {
+		Chunk chunk = event.getChunk();
+		FarmTargetTracker.onChunkChanged(event.getWorld(), chunk.x, chunk.z);
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		FarmTargetTracker.onWorldUnloaded(event.getWorld());
+	}
 }
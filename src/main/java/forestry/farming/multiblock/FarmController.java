@@ -37,6 +37,7 @@ import net.minecraft.util.NonNullList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.World;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
 
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
@@ -86,7 +87,15 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 
 	private final Map<FarmDirection, List<FarmTarget>> targets = new EnumMap<>(FarmDirection.class);
 	private final Table<FarmDirection, BlockPos, Integer> lastExtents = HashBasedTable.create();
+	private final List<FarmDirection> farmDirections = Arrays.asList(FarmDirection.values());
 	private int allowedExtent = 0;
+	// The targets are only recreated if a platform block around the farm changes, see FarmTargetTracker.
+	private boolean targetsInvalid = true;
+	// The area in which a block change can change the targets, and the platform blocks the targets currently use.
+	@Nullable
+	private StructureBoundingBox targetFootprint;
+	private final Map<FarmDirection, StructureBoundingBox> platformAreas = new EnumMap<>(FarmDirection.class);
+	private final FarmHarvestTracker harvestTracker = new FarmHarvestTracker();
 	@Nullable
 	private IFarmLogic harvestProvider; // The farm logic which supplied the pending crops.
 	private final List<ICrop> pendingCrops = new LinkedList<>();
@@ -112,6 +121,8 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 
 	// tick updates can come from multiple gearboxes so keep track of them here
 	private int farmWorkTicks = 0;
+	// blocks that are set without notifying their neighbours are not seen by the tracker, so the targets are still refreshed once in a while
+	private static final int TARGET_REFRESH_INTERVAL = 1200;
 
 	@Nullable
 	private Vec3i offset;
@@ -200,10 +211,58 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 		}
 	}
 
+	@Override
+	protected void onMachineAssembled() {
+		super.onMachineAssembled();
+		invalidateTargets();
+	}
+
+	@Override
+	protected void onMachineRestored() {
+		super.onMachineRestored();
+		invalidateTargets();
+	}
+
+	@Override
+	protected void onMachinePaused() {
+		super.onMachinePaused();
+		FarmTargetTracker.untrack(world, this);
+	}
+
 	@Override
 	protected void onMachineDisassembled() {
 		super.onMachineDisassembled();
+		FarmTargetTracker.untrack(world, this);
 		targets.clear();
+		invalidateTargets();
+	}
+
+	/**
+	 * Marks the targets of this farm for recreation on the next work cycle.
+	 */
+	public void invalidateTargets() {
+		targetsInvalid = true;
+	}
+
+	/**
+	 * Called by the {@link FarmTargetTracker} if a block in a chunk around this farm changed or grew.
+	 * The targets only change if a new platform block was placed or a platform block the targets use was removed.
+	 */
+	public void onFootprintBlockChanged(BlockPos pos) {
+		harvestTracker.onBlockChanged(pos);
+		if (targetsInvalid || targetFootprint == null || !targetFootprint.isVecInside(pos)) {
+			return;
+		}
+		if (isValidPlatform(world, pos)) {
+			targetsInvalid = true;
+			return;
+		}
+		for (StructureBoundingBox platformArea : platformAreas.values()) {
+			if (platformArea.isVecInside(pos)) {
+				targetsInvalid = true;
+				return;
+			}
+		}
 	}
 
 	@Override
@@ -415,7 +474,7 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 	@Override
 	public boolean doWork() {
 		farmWorkTicks++;
-		if (targets.isEmpty() || farmWorkTicks % 20 == 0) {
+		if (targetsInvalid || farmWorkTicks % TARGET_REFRESH_INTERVAL == 0) {
 			setUpFarmlandTargets();
 		}
 
@@ -446,7 +505,6 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 		// Cultivation and collection
 		FarmWorkStatus farmWorkStatus = new FarmWorkStatus();
 
-		List<FarmDirection> farmDirections = Arrays.asList(FarmDirection.values());
 		Collections.shuffle(farmDirections, world.rand);
 		for (FarmDirection farmSide : farmDirections) {
 			IFarmLogic logic = getFarmLogic(farmSide);
@@ -471,7 +529,11 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 			}
 
 			if (stage == Stage.HARVEST) {
-				Collection<ICrop> harvested = FarmHelper.harvestTargets(world, this, farmTargets, logic, farmListeners);
+				Collection<ICrop> harvested = Collections.emptyList();
+				if (harvestTracker.shouldHarvest(farmSide)) {
+					harvested = FarmHelper.harvestTargets(world, this, farmTargets, logic, farmListeners);
+					harvestTracker.onHarvested(farmSide, !harvested.isEmpty());
+				}
 				farmWorkStatus.didWork = !harvested.isEmpty();
 				if (!harvested.isEmpty()) {
 					pendingCrops.addAll(harvested);
@@ -513,6 +575,40 @@ public class FarmController extends RectangularMultiblockControllerBase implemen
 
 		FarmHelper.createTargets(world, this, targets, targetStart, allowedExtent, sizeNorthSouth, sizeEastWest, min, max);
 		FarmHelper.setExtents(world, this, targets);
+
+		// targets reach out up to the allowed extent from the farm and extend sideways up to the allowed extent plus the farm width
+		int reach = 2 * allowedExtent + Math.max(sizeNorthSouth, sizeEastWest) + 1;
+		// the platform is searched from 2 blocks above to 4 blocks below the target start
+		targetFootprint = new StructureBoundingBox(min.getX() - reach, targetStart.getY() - 4, min.getZ() - reach, max.getX() + reach, targetStart.getY() + 2, max.getZ() + reach);
+		platformAreas.clear();
+		harvestTracker.clear();
+		for (Map.Entry<FarmDirection, List<FarmTarget>> entry : targets.entrySet()) {
+			StructureBoundingBox platformArea = null;
+			int longestExtent = 0;
+			for (FarmTarget target : entry.getValue()) {
+				if (target.getExtent() <= 0) {
+					continue;
+				}
+				longestExtent = Math.max(longestExtent, target.getExtent());
+				BlockPos platformStart = target.getStart().add(0, target.getYOffset() - 1, 0);
+				BlockPos platformEnd = platformStart.offset(target.getDirection().getFacing(), target.getExtent() - 1);
+				StructureBoundingBox targetArea = new StructureBoundingBox(platformStart, platformEnd);
+				if (platformArea == null) {
+					platformArea = targetArea;
+				} else {
+					platformArea.expandTo(targetArea);
+				}
+			}
+			if (platformArea != null) {
+				platformAreas.put(entry.getKey(), platformArea);
+				// crops grow on the soil above the platform, trees and their leaves reach a little further to the sides
+				StructureBoundingBox cropArea = new StructureBoundingBox(platformArea.minX - 1, platformArea.minY, platformArea.minZ - 1, platformArea.maxX + 1, world.getHeight(), platformArea.maxZ + 1);
+				harvestTracker.setCropArea(entry.getKey(), cropArea, longestExtent);
+			}
+		}
+
+		FarmTargetTracker.track(world, this, new BlockPos(targetFootprint.minX, targetFootprint.minY, targetFootprint.minZ), new BlockPos(targetFootprint.maxX, targetFootprint.maxY, targetFootprint.maxZ));
+		targetsInvalid = false;
 	}
 
 	private FarmWorkStatus cultivateTargets(FarmWorkStatus farmWorkStatus, List<FarmTarget> farmTargets, IFarmLogic logic, FarmDirection farmSide) {
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.farming.multiblock;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.structure.StructureBoundingBox;
+
+import forestry.api.farming.FarmDirection;
+
+/**
+ * Remembers which sides of a farm came up empty when they were harvested, and whether a block grew or changed on that
+ * side since then. Sides without changes are skipped by the harvest instead of checking every position of every target.
+ * <p>
+ * Some farm logics only check a part of a target per harvest, so a side counts as empty once it came up empty as many
+ * times in a row as its longest target. Crops can also ripen without a block change (e.g. fruits on leaves), so every
+ * skipped side is still harvested once in a while.
+ */
+final class FarmHarvestTracker {
+	private static final int FORCED_HARVEST_INTERVAL = 20;
+
+	private final Map<FarmDirection, StructureBoundingBox> cropAreas = new EnumMap<>(FarmDirection.class);
+	private final int[] requiredEmptyHarvests = new int[FarmDirection.values().length];
+	private final int[] emptyHarvests = new int[FarmDirection.values().length];
+	private final int[] skippedHarvests = new int[FarmDirection.values().length];
+
+	public FarmHarvestTracker() {
+		clear();
+	}
+
+	/**
+	 * Resets the tracker, every side is harvested again until it comes up empty.
+	 */
+	public void clear() {
+		cropAreas.clear();
+		Arrays.fill(requiredEmptyHarvests, 1);
+		Arrays.fill(emptyHarvests, 0);
+		Arrays.fill(skippedHarvests, 0);
+	}
+
+	/**
+	 * @param cropArea           the area in which the crops of this side grow
+	 * @param longestTargetExtent the longest extent of the targets of this side
+	 */
+	public void setCropArea(FarmDirection side, StructureBoundingBox cropArea, int longestTargetExtent) {
+		cropAreas.put(side, cropArea);
+		requiredEmptyHarvests[side.ordinal()] = Math.max(1, longestTargetExtent);
+	}
+
+	public void onBlockChanged(BlockPos pos) {
+		for (Map.Entry<FarmDirection, StructureBoundingBox> entry : cropAreas.entrySet()) {
+			if (entry.getValue().isVecInside(pos)) {
+				emptyHarvests[entry.getKey().ordinal()] = 0;
+			}
+		}
+	}
+
+	public boolean shouldHarvest(FarmDirection side) {
+		int index = side.ordinal();
+		if (emptyHarvests[index] < requiredEmptyHarvests[index] || !cropAreas.containsKey(side)) {
+			return true;
+		}
+		if (++skippedHarvests[index] >= FORCED_HARVEST_INTERVAL) {
+			skippedHarvests[index] = 0;
+			return true;
+		}
+		return false;
+	}
+
+	public void onHarvested(FarmDirection side, boolean foundCrops) {
+		int index = side.ordinal();
+		if (foundCrops) {
+			emptyHarvests[index] = 0;
+		} else if (emptyHarvests[index] < requiredEmptyHarvests[index]) {
+			emptyHarvests[index]++;
+		}
+	}
+}
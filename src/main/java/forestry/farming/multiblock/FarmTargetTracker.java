@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.farming.multiblock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Maps the chunks around farms to the farms whose targets reach into them,
+ * so a block change only has to notify the farms that could be affected by it.
+ * <p>
+ * Farms are held weakly, a farm controller that is thrown away without being disassembled is dropped automatically.
+ * Only used on the server.
+ */
+public class FarmTargetTracker {
+	private static final Map<World, FarmTargetTracker> trackers = new HashMap<>();
+
+	private final Long2ObjectMap<Set<FarmController>> farmsByChunk = new Long2ObjectOpenHashMap<>();
+	private final Map<FarmController, long[]> trackedChunks = new WeakHashMap<>();
+
+	/**
+	 * Registers the farm for all chunks that intersect the given area, replaces the area the farm was registered with before.
+	 */
+	public static void track(World world, FarmController farm, BlockPos min, BlockPos max) {
+		FarmTargetTracker tracker = trackers.computeIfAbsent(world, w -> new FarmTargetTracker());
+		tracker.remove(farm);
+
+		int minChunkX = min.getX() >> 4;
+		int minChunkZ = min.getZ() >> 4;
+		int maxChunkX = max.getX() >> 4;
+		int maxChunkZ = max.getZ() >> 4;
+		long[] chunks = new long[(maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1)];
+		int index = 0;
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+				chunks[index++] = chunkKey;
+				tracker.farmsByChunk.computeIfAbsent(chunkKey, key -> Collections.newSetFromMap(new WeakHashMap<>())).add(farm);
+			}
+		}
+		tracker.trackedChunks.put(farm, chunks);
+	}
+
+	public static void untrack(World world, FarmController farm) {
+		FarmTargetTracker tracker = trackers.get(world);
+		if (tracker != null) {
+			tracker.remove(farm);
+		}
+	}
+
+	public static void onBlockChanged(World world, BlockPos pos) {
+		FarmTargetTracker tracker = trackers.get(world);
+		if (tracker != null) {
+			Set<FarmController> farms = tracker.farmsByChunk.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+			if (farms != null) {
+				for (FarmController farm : farms) {
+					farm.onFootprintBlockChanged(pos);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Targets stop at unloaded chunks, so they have to be recreated if a chunk around the farm is loaded or unloaded.
+	 */
+	public static void onChunkChanged(World world, int chunkX, int chunkZ) {
+		FarmTargetTracker tracker = trackers.get(world);
+		if (tracker != null) {
+			Set<FarmController> farms = tracker.farmsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+			if (farms != null) {
+				for (FarmController farm : farms) {
+					farm.invalidateTargets();
+				}
+			}
+		}
+	}
+
+	public static void onWorldUnloaded(World world) {
+		trackers.remove(world);
+	}
+
+	private void remove(FarmController farm) {
+		long[] chunks = trackedChunks.remove(farm);
+		if (chunks == null) {
+			return;
+		}
+		for (long chunkKey : chunks) {
+			Set<FarmController> farms = farmsByChunk.get(chunkKey);
+			if (farms != null) {
+				farms.remove(farm);
+				if (farms.isEmpty()) {
+					farmsByChunk.remove(chunkKey);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.lepidopterology;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+import forestry.lepidopterology.entities.EntityButterfly;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+
+/**
+ * Live count of the butterflies of every world and of every chunk, replaces {@link World#countEntities(Class)} for the
+ * spawn limits.
+ * <p>
+ * A butterfly is counted from the moment it is added to the loaded entities of a world until it is removed from them,
+ * like {@link World#countEntities(Class)} does. The counts are kept up to date by {@link ButterflyCounterEventHandler}.
+ */
+public class ButterflyCounter {
+	private static final Map<World, ButterflyCounter> counters = new HashMap<>();
+
+	/* The chunk every butterfly is counted in */
+	private final Reference2LongMap<EntityButterfly> butterflyChunks = new Reference2LongOpenHashMap<>();
+	private final Long2IntMap chunkCounts = new Long2IntOpenHashMap();
+
+	private ButterflyCounter() {
+	}
+
+	/**
+	 * @return the amount of butterflies in the loaded chunks of the world.
+	 */
+	public static int getButterflyCount(World world) {
+		ButterflyCounter counter = counters.get(world);
+		return counter == null ? 0 : counter.butterflyChunks.size();
+	}
+
+	/**
+	 * @return the amount of butterflies in the given chunk.
+	 */
+	public static int getButterflyCount(World world, int chunkX, int chunkZ) {
+		ButterflyCounter counter = counters.get(world);
+		return counter == null ? 0 : counter.chunkCounts.get(ChunkPos.asLong(chunkX, chunkZ));
+	}
+
+	/**
+	 * @return the amount of chunks of the world that contain at least one butterfly.
+	 */
+	public static int getChunkCount(World world) {
+		ButterflyCounter counter = counters.get(world);
+		return counter == null ? 0 : counter.chunkCounts.size();
+	}
+
+	/**
+	 * @return the amount of butterflies in the chunk with the most butterflies of the world.
+	 */
+	public static int getMaxChunkCount(World world) {
+		ButterflyCounter counter = counters.get(world);
+		if (counter == null) {
+			return 0;
+		}
+		int maxCount = 0;
+		for (int count : counter.chunkCounts.values()) {
+			maxCount = Math.max(maxCount, count);
+		}
+		return maxCount;
+	}
+
+	static void onButterflyAdded(EntityButterfly butterfly) {
+		ButterflyCounter counter = counters.computeIfAbsent(butterfly.world, world -> new ButterflyCounter());
+		if (counter.butterflyChunks.containsKey(butterfly)) {
+			return;
+		}
+		long chunkKey = ChunkPos.asLong(MathHelper.floor(butterfly.posX) >> 4, MathHelper.floor(butterfly.posZ) >> 4);
+		counter.butterflyChunks.put(butterfly, chunkKey);
+		counter.increment(chunkKey);
+	}
+
+	static void onButterflyRemoved(EntityButterfly butterfly) {
+		ButterflyCounter counter = counters.get(butterfly.world);
+		if (counter == null || !counter.butterflyChunks.containsKey(butterfly)) {
+			return;
+		}
+		long chunkKey = counter.butterflyChunks.removeLong(butterfly);
+		counter.decrement(chunkKey);
+	}
+
+	static void onButterflyEnteredChunk(EntityButterfly butterfly, int chunkX, int chunkZ) {
+		ButterflyCounter counter = counters.get(butterfly.world);
+		if (counter == null || !counter.butterflyChunks.containsKey(butterfly)) {
+			return;
+		}
+		long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+		long oldChunkKey = counter.butterflyChunks.put(butterfly, chunkKey);
+		if (oldChunkKey != chunkKey) {
+			counter.decrement(oldChunkKey);
+			counter.increment(chunkKey);
+		}
+	}
+
+	static void onWorldUnloaded(World world) {
+		counters.remove(world);
+	}
+
+	private void increment(long chunkKey) {
+		chunkCounts.put(chunkKey, chunkCounts.get(chunkKey) + 1);
+	}
+
+	private void decrement(long chunkKey) {
+		int count = chunkCounts.get(chunkKey) - 1;
+		if (count <= 0) {
+			chunkCounts.remove(chunkKey);
+		} else {
+			chunkCounts.put(chunkKey, count);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.lepidopterology;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.world.WorldEvent;
+
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import forestry.lepidopterology.entities.EntityButterfly;
+
+/**
+ * Keeps the {@link ButterflyCounter} and the {@link ButterflySpatialIndex} of every server world up to date.
+ * <p>
+ * Forge has no event for entities that leave a world, so a world listener is added to every server world that reports the
+ * added and removed entities.
+ */
+public class ButterflyCounterEventHandler {
+	@SubscribeEvent
+	public void onWorldLoad(WorldEvent.Load event) {
+		World world = event.getWorld();
+		if (!world.isRemote) {
+			world.addEventListener(new ButterflyWorldListener());
+		}
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload event) {
+		if (event.getWorld().isRemote) {
+			return;
+		}
+		ButterflyCounter.onWorldUnloaded(event.getWorld());
+		ButterflySpatialIndex.onWorldUnloaded(event.getWorld());
+	}
+
+	@SubscribeEvent
+	public void onEnteringChunk(EntityEvent.EnteringChunk event) {
+		Entity entity = event.getEntity();
+		if (entity instanceof EntityButterfly && !entity.world.isRemote) {
+			ButterflyCounter.onButterflyEnteredChunk((EntityButterfly) entity, event.getNewChunkX(), event.getNewChunkZ());
+		}
+	}
+
+	private static class ButterflyWorldListener implements IWorldEventListener {
+		@Override
+		public void onEntityAdded(Entity entity) {
+			if (entity instanceof EntityButterfly && !entity.world.isRemote) {
+				ButterflyCounter.onButterflyAdded((EntityButterfly) entity);
+				ButterflySpatialIndex.onButterflyAdded((EntityButterfly) entity);
+			}
+		}
+
+		@Override
+		public void onEntityRemoved(Entity entity) {
+			if (entity instanceof EntityButterfly && !entity.world.isRemote) {
+				ButterflyCounter.onButterflyRemoved((EntityButterfly) entity);
+				ButterflySpatialIndex.onButterflyRemoved((EntityButterfly) entity);
+			}
+		}
+
+		@Override
+		public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+		}
+
+		@Override
+		public void notifyLightSet(BlockPos pos) {
+		}
+
+		@Override
+		public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+		}
+
+		@Override
+		public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+		}
+
+		@Override
+		public void playRecordMusic(SoundEvent sound, BlockPos pos) {
+		}
+
+		@Override
+		public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+		}
+
+		@Override
+		public void broadcastSound(int soundID, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {
+		}
+
+		@Override
+		public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+		}
+	}
+}
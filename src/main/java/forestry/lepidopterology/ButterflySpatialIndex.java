@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2011-2014 SirSengir.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the GNU Lesser Public License v3
+ * which accompanies this distribution, and is available at
+ * http://www.gnu.org/licenses/lgpl-3.0.txt
+ *
+ * Various Contributors including, but not limited to:
+ * SirSengir (original work), CovertJaguar, Player, Binnie, MysteriousAges
+ ******************************************************************************/
+package forestry.lepidopterology;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.world.World;
+
+import forestry.core.utils.datastructures.EntitySpatialHash;
+import forestry.lepidopterology.entities.EntityButterfly;
+
+/**
+ * Spatial hash of the butterflies of every server world, used by the butterfly AI instead of the entity scans of the world.
+ * <p>
+ * Butterflies are added and removed by {@link ButterflyCounterEventHandler} and move their own entry after every
+ * update.
+ */
+public class ButterflySpatialIndex {
+	private static final Map<World, EntitySpatialHash<EntityButterfly>> hashes = new HashMap<>();
+
+	private ButterflySpatialIndex() {
+	}
+
+	/**
+	 * @return all butterflies whose bounding box intersects the given box.
+	 */
+	public static List<EntityButterfly> getButterflies(World world, AxisAlignedBB box) {
+		EntitySpatialHash<EntityButterfly> hash = hashes.get(world);
+		if (hash == null) {
+			return world.getEntitiesWithinAABB(EntityButterfly.class, box);
+		}
+		return hash.getEntitiesWithinAABB(box);
+	}
+
+	/**
+	 * @return true if the bounding box of any butterfly intersects the given box.
+	 */
+	public static boolean hasButterfly(World world, AxisAlignedBB box) {
+		EntitySpatialHash<EntityButterfly> hash = hashes.get(world);
+		if (hash == null) {
+			return !world.getEntitiesWithinAABB(EntityButterfly.class, box).isEmpty();
+		}
+		return hash.hasEntityWithinAABB(box);
+	}
+
+	public static void onButterflyMoved(EntityButterfly butterfly) {
+		EntitySpatialHash<EntityButterfly> hash = hashes.get(butterfly.world);
+		if (hash != null) {
+			hash.update(butterfly);
+		}
+	}
+
+	static void onButterflyAdded(EntityButterfly butterfly) {
+		hashes.computeIfAbsent(butterfly.world, world -> new EntitySpatialHash<>()).add(butterfly);
+	}
+
+	static void onButterflyRemoved(EntityButterfly butterfly) {
+		EntitySpatialHash<EntityButterfly> hash = hashes.get(butterfly.world);
+		if (hash != null) {
+			hash.remove(butterfly);
+		}
+	}
+
+	static void onWorldUnloaded(World world) {
+		hashes.remove(world);
+	}
+}
@@ -19,7 +19,6 @@ import forestry.api.arboriculture.ILeafTickHandler;
 import forestry.api.arboriculture.ITree;
 import forestry.api.lepidopterology.ButterflyManager;
 import forestry.api.lepidopterology.IButterfly;
-import forestry.lepidopterology.entities.EntityButterfly;
 
 public class ButterflySpawner implements ILeafTickHandler {
 
@@ -46,7 +45,7 @@ public class ButterflySpawner implements ILeafTickHandler {
 			return false;
 		}
 
-		if (world.countEntities(EntityButterfly.class) > ModuleLepidopterology.spawnConstraint) {
+		if (ButterflyCounter.getButterflyCount(world) > ModuleLepidopterology.spawnConstraint) {
 			return false;
 		}
 
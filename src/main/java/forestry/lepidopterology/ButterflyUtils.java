@@ -7,7 +7,6 @@ import net.minecraft.world.World;
 import forestry.api.lepidopterology.ButterflyManager;
 import forestry.api.lepidopterology.IButterfly;
 import forestry.core.utils.Log;
-import forestry.lepidopterology.entities.EntityButterfly;
 
 public class ButterflyUtils {
 
@@ -18,7 +17,7 @@ public class ButterflyUtils {
 	}
 
 	public static boolean spawnButterfly(IButterfly butterfly, World world, BlockPos pos) {
-		if (world.countEntities(EntityButterfly.class) > ModuleLepidopterology.spawnConstraint) {
+		if (ButterflyCounter.getButterflyCount(world) > ModuleLepidopterology.spawnConstraint) {
 			return false;
 		}
 
@@ -33,7 +32,7 @@ public class ButterflyUtils {
 	}
 
 	public static boolean spawnButterflyWithoutCheck(IButterfly butterfly, World world, BlockPos pos) {
-		if (world.countEntities(EntityButterfly.class) > ModuleLepidopterology.spawnConstraint) {
+		if (ButterflyCounter.getButterflyCount(world) > ModuleLepidopterology.spawnConstraint) {
 			return false;
 		}
 
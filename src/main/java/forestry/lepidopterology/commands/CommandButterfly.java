@@ -14,10 +14,14 @@ import net.minecraft.command.ICommandSender;
 import net.minecraft.command.WrongUsageException;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.EntitySelectors;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.world.World;
 
 import forestry.core.commands.CommandHelpers;
 import forestry.core.commands.SubCommand;
+import forestry.lepidopterology.ButterflyCounter;
+import forestry.lepidopterology.ModuleLepidopterology;
 import forestry.lepidopterology.entities.EntityButterfly;
 
 /**
@@ -29,6 +33,7 @@ public class CommandButterfly extends SubCommand {
 		super("butterfly");
 		addAlias("bfly");
 		addChildCommand(new CommandButterflyKill());
+		addChildCommand(new CommandButterflyCount());
 	}
 
 	public static class CommandButterflyKill extends SubCommand {
@@ -53,4 +58,25 @@ public class CommandButterfly extends SubCommand {
 		}
 	}
 
+	public static class CommandButterflyCount extends SubCommand {
+
+		public CommandButterflyCount() {
+			super("count");
+			setPermLevel(PermLevel.ADMIN);
+		}
+
+		@Override
+		public void executeSubCommand(MinecraftServer server, ICommandSender sender, String[] args) throws WrongUsageException {
+			if (args.length > 0) {
+				CommandHelpers.throwWrongUsage(sender, this);
+			}
+			World world = sender.getEntityWorld();
+			BlockPos pos = sender.getPosition();
+			int count = ButterflyCounter.getButterflyCount(world);
+			int chunkCount = ButterflyCounter.getButterflyCount(world, pos.getX() >> 4, pos.getZ() >> 4);
+			sender.sendMessage(new TextComponentTranslation("for.chat.command.forestry.butterfly.count.response", count, ModuleLepidopterology.spawnConstraint, ModuleLepidopterology.entityConstraint));
+			sender.sendMessage(new TextComponentTranslation("for.chat.command.forestry.butterfly.count.chunks", ButterflyCounter.getChunkCount(world), ButterflyCounter.getMaxChunkCount(world), chunkCount));
+		}
+	}
+
 }
@@ -15,6 +15,8 @@ import java.util.List;
 
 import forestry.api.lepidopterology.IButterflyNursery;
 import forestry.core.utils.GeneticsUtil;
+import forestry.lepidopterology.ButterflyCounter;
+import forestry.lepidopterology.ButterflySpatialIndex;
 import forestry.lepidopterology.ModuleLepidopterology;
 
 public class AIButterflyMate extends AIButterflyInteract {
@@ -38,7 +40,7 @@ public class AIButterflyMate extends AIButterflyInteract {
 			return false;
 		}
 
-		if (entity.world.countEntities(EntityButterfly.class) > ModuleLepidopterology.spawnConstraint) {
+		if (ButterflyCounter.getButterflyCount(entity.world) > ModuleLepidopterology.spawnConstraint) {
 			return false;
 		}
 
@@ -108,7 +110,7 @@ public class AIButterflyMate extends AIButterflyInteract {
 	@Nullable
 	private EntityButterfly getNearbyMate() {
 		float f = 8.0F;
-		List<EntityButterfly> nextButterflys = entity.world.getEntitiesWithinAABB(EntityButterfly.class, this.entity.getEntityBoundingBox().expand(f, f, f));
+		List<EntityButterfly> nextButterflys = ButterflySpatialIndex.getButterflies(entity.world, this.entity.getEntityBoundingBox().expand(f, f, f));
 		double d0 = Double.MAX_VALUE;
 		EntityButterfly nextButterfly = null;
 
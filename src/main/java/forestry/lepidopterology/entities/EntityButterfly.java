@@ -61,6 +61,7 @@ import forestry.api.lepidopterology.IButterflyRoot;
 import forestry.api.lepidopterology.IEntityButterfly;
 import forestry.api.lepidopterology.ILepidopteristTracker;
 import forestry.core.utils.ItemStackUtil;
+import forestry.lepidopterology.ButterflySpatialIndex;
 import forestry.lepidopterology.ModuleLepidopterology;
 import forestry.lepidopterology.genetics.Butterfly;
 
@@ -242,7 +243,7 @@ public class EntityButterfly extends EntityCreature implements IEntityButterfly
 			weight -= 15.0f;
 		}
 
-		if (!world.getEntitiesWithinAABB(EntityButterfly.class, new AxisAlignedBB(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1)).isEmpty()) {
+		if (ButterflySpatialIndex.hasButterfly(world, new AxisAlignedBB(pos))) {
 			weight -= 1.0f;
 		}
 
@@ -455,6 +456,9 @@ public class EntityButterfly extends EntityCreature implements IEntityButterfly
 	@Override
 	public void onUpdate() {
 		super.onUpdate();
+		if (!world.isRemote) {
+			ButterflySpatialIndex.onButterflyMoved(this);
+		}
 
 		// Update stuff client side
 		if (world.isRemote) {
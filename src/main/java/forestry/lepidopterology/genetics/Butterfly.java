@@ -69,13 +69,13 @@ public class Butterfly extends IndividualLiving implements IButterfly {
 		super(nbt);
 
 		if (nbt.hasKey("Genome")) {
-			genome = new ButterflyGenome(nbt.getCompoundTag("Genome"));
+			genome = ButterflyGenome.fromNBT(nbt.getCompoundTag("Genome"));
 		} else {
 			genome = ButterflyManager.butterflyRoot.templateAsGenome(ButterflyManager.butterflyRoot.getDefaultTemplate());
 		}
 
 		if (nbt.hasKey("Mate")) {
-			mate = new ButterflyGenome(nbt.getCompoundTag("Mate"));
+			mate = ButterflyGenome.fromNBT(nbt.getCompoundTag("Mate"));
 		}
 	}
 
@@ -322,6 +322,7 @@ public class Butterfly extends IndividualLiving implements IButterfly {
 		}
 
 		mate = ((IButterfly) individual).getGenome();
+		onMateChanged();
 	}
 
 	@Override
@@ -31,6 +31,7 @@ import forestry.api.lepidopterology.IAlleleButterflyEffect;
 import forestry.api.lepidopterology.IAlleleButterflySpecies;
 import forestry.api.lepidopterology.IButterflyGenome;
 import forestry.core.genetics.Genome;
+import forestry.core.genetics.SpeciesRoot;
 import forestry.core.genetics.alleles.AlleleBoolean;
 import forestry.core.genetics.alleles.AlleleTolerance;
 
@@ -41,6 +42,10 @@ public class ButterflyGenome extends Genome implements IButterflyGenome {
 		super(nbttagcompound);
 	}
 
+	public static ButterflyGenome fromNBT(NBTTagCompound nbtTagCompound) {
+		return ((SpeciesRoot) ButterflyManager.butterflyRoot).getCachedGenome(nbtTagCompound, ButterflyGenome::new);
+	}
+
 	public ButterflyGenome(IChromosome[] chromosomes) {
 		super(chromosomes);
 	}
@@ -59,6 +59,7 @@ import forestry.core.utils.EntityUtil;
 import forestry.core.utils.GeneticsUtil;
 import forestry.core.utils.NetworkUtil;
 import forestry.core.utils.Translator;
+import forestry.lepidopterology.ButterflyCounter;
 import forestry.lepidopterology.ModuleLepidopterology;
 import forestry.lepidopterology.entities.EntityButterfly;
 import forestry.lepidopterology.genetics.ButterflyDefinition;
@@ -143,7 +144,7 @@ public class ItemButterflyGE extends ItemGE implements ISpriteRegister, IColored
 			return false;
 		}
 
-		if (entityItem.world.countEntities(EntityButterfly.class) > ModuleLepidopterology.entityConstraint) {
+		if (ButterflyCounter.getButterflyCount(entityItem.world) > ModuleLepidopterology.entityConstraint) {
 			return false;
 		}
 
@@ -1,10 +1,16 @@
 package forestry.sorting;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.PacketBuffer;
@@ -28,10 +34,23 @@ import forestry.sorting.network.packets.PacketFilterChangeGenome;
 import forestry.sorting.network.packets.PacketFilterChangeRule;
 
 public class FilterLogic implements IFilterLogic {
+	private static final int DECISION_CACHE_SIZE = 64;
+
 	private final ILocatable locatable;
 	private final INetworkHandler networkHandler;
 	private IFilterRuleType[] filterRules = new IFilterRuleType[6];
 	private AlleleFilter[][] genomeFilter = new AlleleFilter[6][3];
+	/**
+	 * The facings that accept a stack, as a bitmask of facing indices, keyed by the item, meta and nbt of the stack.
+	 * The item and its nbt define the individual and its type, so the result of every rule and genome filter is the
+	 * same for all stacks with the same key.
+	 * Cleared whenever a rule or a genome filter changes.
+	 */
+	private final Cache<DecisionKey, Integer> decisionCache = CacheBuilder.newBuilder()
+		.maximumSize(DECISION_CACHE_SIZE)
+		.concurrencyLevel(1)
+		.recordStats()
+		.build();
 
 	public FilterLogic(ILocatable locatable, INetworkHandler networkHandler) {
 		this.locatable = locatable;
@@ -71,6 +90,7 @@ public class FilterLogic implements IFilterLogic {
 
 	@Override
 	public void readFromNBT(NBTTagCompound data) {
+		decisionCache.invalidateAll();
 		for (int i = 0; i < filterRules.length; i++) {
 			filterRules[i] = AlleleManager.filterRegistry.getRuleOrDefault(data.getString("TypeFilter" + i));
 		}
@@ -122,6 +142,7 @@ public class FilterLogic implements IFilterLogic {
 	@SideOnly(Side.CLIENT)
 	@Override
 	public void readGuiData(PacketBuffer data) {
+		decisionCache.invalidateAll();
 		for (int i = 0; i < filterRules.length; i++) {
 			filterRules[i] = AlleleManager.filterRegistry.getRule(data.readShort());
 		}
@@ -141,20 +162,10 @@ public class FilterLogic implements IFilterLogic {
 	}
 
 	public Collection<EnumFacing> getValidDirections(ItemStack itemStack, EnumFacing from) {
-		ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(itemStack);
-		IIndividual individual = null;
-		ISpeciesType type = null;
-		if (root != null) {
-			individual = root.getMember(itemStack);
-			type = root.getType(itemStack);
-		}
-		IFilterData filterData = new FilterData(root, individual, type);
-		List<EnumFacing> validFacings = new LinkedList<>();
+		int validFacingMask = getValidFacings(itemStack);
+		List<EnumFacing> validFacings = new ArrayList<>(EnumFacing.VALUES.length);
 		for (EnumFacing facing : EnumFacing.VALUES) {
-			if (facing == from) {
-				continue;
-			}
-			if (isValid(facing, itemStack, filterData)) {
+			if (facing != from && (validFacingMask & 1 << facing.getIndex()) != 0) {
 				validFacings.add(facing);
 			}
 		}
@@ -163,6 +174,25 @@ public class FilterLogic implements IFilterLogic {
 
 	@Override
 	public boolean isValid(ItemStack itemStack, EnumFacing facing) {
+		return (getValidFacings(itemStack) & 1 << facing.getIndex()) != 0;
+	}
+
+	/**
+	 * @return a bitmask of the indices of all facings that accept the given stack.
+	 */
+	public int getValidFacings(ItemStack itemStack) {
+		DecisionKey key = new DecisionKey(itemStack, itemStack.getTagCompound());
+		Integer validFacings = decisionCache.getIfPresent(key);
+		if (validFacings == null) {
+			validFacings = computeValidFacings(itemStack);
+			NBTTagCompound tagCompound = itemStack.getTagCompound();
+			// copy the nbt, the nbt of an item stack can be modified in place later
+			decisionCache.put(new DecisionKey(itemStack, tagCompound == null ? null : tagCompound.copy()), validFacings);
+		}
+		return validFacings;
+	}
+
+	private int computeValidFacings(ItemStack itemStack) {
 		ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(itemStack);
 		IIndividual individual = null;
 		ISpeciesType type = null;
@@ -170,7 +200,21 @@ public class FilterLogic implements IFilterLogic {
 			individual = root.getMember(itemStack);
 			type = root.getType(itemStack);
 		}
-		return isValid(facing, itemStack, new FilterData(root, individual, type));
+		IFilterData filterData = new FilterData(root, individual, type);
+		int validFacings = 0;
+		for (EnumFacing facing : EnumFacing.VALUES) {
+			if (isValid(facing, itemStack, filterData)) {
+				validFacings |= 1 << facing.getIndex();
+			}
+		}
+		return validFacings;
+	}
+
+	/**
+	 * @return the hit and miss counters of the cached filter decisions of this filter.
+	 */
+	public CacheStats getDecisionCacheStats() {
+		return decisionCache.stats();
 	}
 
 	public boolean isValid(EnumFacing facing, ItemStack itemStack, IFilterData filterData) {
@@ -225,6 +269,7 @@ public class FilterLogic implements IFilterLogic {
 	public boolean setRule(EnumFacing facing, IFilterRuleType rule) {
 		if (filterRules[facing.ordinal()] != rule) {
 			filterRules[facing.ordinal()] = rule;
+			decisionCache.invalidateAll();
 			return true;
 		}
 		return false;
@@ -257,6 +302,9 @@ public class FilterLogic implements IFilterLogic {
 			set = filter.inactiveAllele != allele;
 			filter.inactiveAllele = allele;
 		}
+		if (set) {
+			decisionCache.invalidateAll();
+		}
 		return set;
 	}
 
@@ -269,4 +317,36 @@ public class FilterLogic implements IFilterLogic {
 	public void sendToServer(EnumFacing facing, IFilterRuleType rule) {
 		NetworkUtil.sendToServer(new PacketFilterChangeRule(locatable.getCoordinates(), facing, rule));
 	}
+
+	private static final class DecisionKey {
+		private final Item item;
+		private final int meta;
+		@Nullable
+		private final NBTTagCompound tagCompound;
+		private final int hash;
+
+		private DecisionKey(ItemStack itemStack, @Nullable NBTTagCompound tagCompound) {
+			this.item = itemStack.getItem();
+			this.meta = itemStack.getMetadata();
+			this.tagCompound = tagCompound;
+			this.hash = 31 * (31 * item.hashCode() + meta) + Objects.hashCode(tagCompound);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof DecisionKey)) {
+				return false;
+			}
+			DecisionKey other = (DecisionKey) obj;
+			return hash == other.hash && item == other.item && meta == other.meta && Objects.equals(tagCompound, other.tagCompound);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
 }
@@ -1,8 +1,8 @@
 package forestry.sorting.tiles;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
 
 import net.minecraft.client.gui.inventory.GuiContainer;
@@ -23,20 +23,14 @@ import net.minecraftforge.items.ItemHandlerHelper;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import forestry.api.genetics.AlleleManager;
 import forestry.api.genetics.GeneticCapabilities;
-import forestry.api.genetics.IFilterData;
 import forestry.api.genetics.IFilterLogic;
-import forestry.api.genetics.IIndividual;
-import forestry.api.genetics.ISpeciesRoot;
-import forestry.api.genetics.ISpeciesType;
 import forestry.core.inventory.AdjacentInventoryCache;
 import forestry.core.network.IStreamableGui;
 import forestry.core.network.PacketBufferForestry;
 import forestry.core.tiles.TileForestry;
 import forestry.core.tiles.TileUtil;
 import forestry.core.utils.ItemStackUtil;
-import forestry.sorting.FilterData;
 import forestry.sorting.FilterLogic;
 import forestry.sorting.gui.ContainerGeneticFilter;
 import forestry.sorting.gui.GuiGeneticFilter;
@@ -139,30 +133,19 @@ public class TileGeneticFilter extends TileForestry implements IStreamableGui, I
 	}
 
 	public Collection<EnumFacing> getValidDirections(ItemStack itemStack, EnumFacing from) {
-		ISpeciesRoot root = AlleleManager.alleleRegistry.getSpeciesRoot(itemStack);
-		IIndividual individual = null;
-		ISpeciesType type = null;
-		if (root != null) {
-			individual = root.getMember(itemStack);
-			type = root.getType(itemStack);
-		}
-		IFilterData filterData = new FilterData(root, individual, type);
-		List<EnumFacing> validFacings = new LinkedList<>();
+		int validFacingMask = logic.getValidFacings(itemStack);
+		List<EnumFacing> validFacings = new ArrayList<>(EnumFacing.VALUES.length);
 		for (EnumFacing facing : EnumFacing.VALUES) {
-			if (facing == from) {
+			if (facing == from || (validFacingMask & 1 << facing.getIndex()) == 0) {
 				continue;
 			}
-			if (isValidFacing(facing, itemStack, filterData)) {
+			if (inventoryCache.getAdjacentInventory(facing) != null) {
 				validFacings.add(facing);
 			}
 		}
 		return validFacings;
 	}
 
-	private boolean isValidFacing(EnumFacing facing, ItemStack itemStack, IFilterData filterData) {
-		return inventoryCache.getAdjacentInventory(facing) != null && logic.isValid(facing, itemStack, filterData);
-	}
-
 	public IFilterLogic getLogic() {
 		return logic;
 	}
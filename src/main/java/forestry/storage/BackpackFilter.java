@@ -1,6 +1,9 @@
 package forestry.storage;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import net.minecraft.item.Item;
@@ -11,16 +14,44 @@ import net.minecraftforge.oredict.OreDictionary;
 import forestry.api.storage.IBackpackFilterConfigurable;
 import forestry.core.utils.ItemStackUtil;
 
+import it.unimi.dsi.fastutil.ints.Int2ByteMap;
+import it.unimi.dsi.fastutil.ints.Int2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Besides the item names, the accepted and rejected items are kept as item to metadata tables.
+ * The result of {@link #test(ItemStack)} is remembered for every item and metadata, so testing an item a second time
+ * needs no string building and no ore dictionary lookup.
+ * The remembered results are dropped when the filter or the ore dictionary changes.
+ */
 public class BackpackFilter implements IBackpackFilterConfigurable {
+	private static final byte REJECTED = 0;
+	private static final byte ACCEPTED = 1;
+	private static final byte UNKNOWN = -1;
+	// damageable items use the metadata for their damage, don't remember a result for every damage value
+	private static final int MAX_REMEMBERED_METAS = 64;
+
+	private static volatile int oreDictionaryRevision;
+
 	private final Set<String> acceptedItemStacks = new HashSet<>();
 	private final Set<String> rejectedItemStacks = new HashSet<>();
-	private final Set<Integer> validOreIds = new HashSet<>();
+	private final IntSet validOreIds = new IntOpenHashSet();
+	private final Map<Item, IntSet> acceptedItems = new IdentityHashMap<>();
+	private final Map<Item, IntSet> rejectedItems = new IdentityHashMap<>();
+	private final Map<Item, Int2ByteMap> results = new IdentityHashMap<>();
+	private int resultsRevision;
+
+	public static void onOreDictionaryChanged() {
+		oreDictionaryRevision++;
+	}
 
 	@Override
 	public void acceptItem(ItemStack validItem) {
 		String itemStackString = ItemStackUtil.getStringForItemStack(validItem);
 		if (itemStackString != null) {
 			this.acceptedItemStacks.add(itemStackString);
+			addItem(acceptedItems, validItem);
 		}
 	}
 
@@ -29,6 +60,7 @@ public class BackpackFilter implements IBackpackFilterConfigurable {
 		if (OreDictionary.doesOreNameExist(oreDictName)) {
 			int oreId = OreDictionary.getOreID(oreDictName);
 			this.validOreIds.add(oreId);
+			clearResults();
 		}
 	}
 
@@ -37,6 +69,7 @@ public class BackpackFilter implements IBackpackFilterConfigurable {
 		if (OreDictionary.doesOreNameExist(oreDictName)) {
 			int oreId = OreDictionary.getOreID(oreDictName);
 			this.validOreIds.remove(oreId);
+			clearResults();
 		}
 	}
 
@@ -45,14 +78,29 @@ public class BackpackFilter implements IBackpackFilterConfigurable {
 		String itemStackString = ItemStackUtil.getStringForItemStack(invalidItem);
 		if (itemStackString != null) {
 			this.rejectedItemStacks.add(itemStackString);
+			addItem(rejectedItems, invalidItem);
 		}
 	}
 
+	private void addItem(Map<Item, IntSet> items, ItemStack itemStack) {
+		items.computeIfAbsent(itemStack.getItem(), k -> new IntOpenHashSet()).add(itemStack.getItemDamage());
+		clearResults();
+	}
+
 	@Override
 	public void clear() {
 		acceptedItemStacks.clear();
 		rejectedItemStacks.clear();
 		validOreIds.clear();
+		acceptedItems.clear();
+		rejectedItems.clear();
+		clearResults();
+	}
+
+	private void clearResults() {
+		synchronized (results) {
+			results.clear();
+		}
 	}
 
 	@Override
@@ -62,45 +110,77 @@ public class BackpackFilter implements IBackpackFilterConfigurable {
 		}
 
 		Item item = itemStack.getItem();
-		String itemStackStringWild = ItemStackUtil.getItemNameFromRegistryAsString(item);
-		if (rejectedItemStacks.contains(itemStackStringWild)) {
+		int meta = itemStack.getMetadata();
+		// the gui of the client and the integrated server test items at the same time
+		synchronized (results) {
+			if (resultsRevision != oreDictionaryRevision) {
+				results.clear();
+				resultsRevision = oreDictionaryRevision;
+			}
+			Int2ByteMap itemResults = results.get(item);
+			if (itemResults != null) {
+				byte result = itemResults.get(meta);
+				if (result != UNKNOWN) {
+					return result == ACCEPTED;
+				}
+			}
+
+			boolean accepted = isAccepted(itemStack, item, meta);
+			if (itemResults == null) {
+				itemResults = new Int2ByteOpenHashMap();
+				itemResults.defaultReturnValue(UNKNOWN);
+				results.put(item, itemResults);
+			}
+			if (itemResults.size() < MAX_REMEMBERED_METAS) {
+				itemResults.put(meta, accepted ? ACCEPTED : REJECTED);
+			}
+			return accepted;
+		}
+	}
+
+	private boolean isAccepted(ItemStack itemStack, Item item, int meta) {
+		IntSet rejectedMetas = rejectedItems.get(item);
+		IntSet acceptedMetas = acceptedItems.get(item);
+		if (rejectedMetas != null && rejectedMetas.contains(OreDictionary.WILDCARD_VALUE)) {
 			return false;
 		}
-		if (acceptedItemStacks.contains(itemStackStringWild)) {
+		if (acceptedMetas != null && acceptedMetas.contains(OreDictionary.WILDCARD_VALUE)) {
 			return true;
 		}
 
-		int meta = itemStack.getMetadata();
 		if (meta != OreDictionary.WILDCARD_VALUE) {
-			String itemStackString = itemStackStringWild + ':' + meta;
-			if (rejectedItemStacks.contains(itemStackString)) {
+			if (rejectedMetas != null && rejectedMetas.contains(meta)) {
 				return false;
 			}
-			if (acceptedItemStacks.contains(itemStackString)) {
+			if (acceptedMetas != null && acceptedMetas.contains(meta)) {
 				return true;
 			}
 		}
 
-		int[] oreIds = OreDictionary.getOreIDs(itemStack);
-		for (int oreId : oreIds) {
-			if (validOreIds.contains(oreId)) {
-				acceptedItemStacks.add(itemStackStringWild);
-				return true;
+		if (!validOreIds.isEmpty()) {
+			int[] oreIds = OreDictionary.getOreIDs(itemStack);
+			for (int oreId : oreIds) {
+				if (validOreIds.contains(oreId)) {
+					return true;
+				}
 			}
 		}
 
 		return false;
 	}
 
+	/**
+	 * The getters return unmodifiable views, the filter only changes through its methods so the remembered results are dropped.
+	 */
 	public Set<Integer> getValidOreIds() {
-		return validOreIds;
+		return Collections.unmodifiableSet(validOreIds);
 	}
 
 	public Set<String> getAcceptedItemStacks() {
-		return acceptedItemStacks;
+		return Collections.unmodifiableSet(acceptedItemStacks);
 	}
 
 	public Set<String> getRejectedItemStacks() {
-		return rejectedItemStacks;
+		return Collections.unmodifiableSet(rejectedItemStacks);
 	}
 }
@@ -37,6 +37,7 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.oredict.OreDictionary;
 
 import net.minecraftforge.fml.common.event.FMLInterModComms.IMCMessage;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 import forestry.Forestry;
 import forestry.api.modules.ForestryModule;
@@ -141,6 +142,11 @@ public class ModuleBackpacks extends BlankForestryModule {
 		MinecraftForge.EVENT_BUS.register(this);
 	}
 
+	@SubscribeEvent
+	public void onOreRegister(OreDictionary.OreRegisterEvent event) {
+		BackpackFilter.onOreDictionaryChanged();
+	}
+
 	@Override
 	public void postInit() {
 		final String newConfig = CONFIG_CATEGORY + ".cfg";
@@ -493,7 +499,9 @@ public class ModuleBackpacks extends BlankForestryModule {
 
 	@Override
 	public IResupplyHandler getResupplyHandler() {
-		return new ResupplyHandler();
+		ResupplyHandler resupplyHandler = new ResupplyHandler();
+		MinecraftForge.EVENT_BUS.register(resupplyHandler);
+		return resupplyHandler;
 	}
 
 	@Override
@@ -13,6 +13,7 @@ package forestry.storage;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.NonNullList;
 
 import forestry.api.storage.IBackpackDefinition;
 import forestry.core.IPickupHandler;
@@ -38,11 +39,14 @@ public class PickupHandlerStorage implements IPickupHandler {
 		// Make sure to top off manually placed itemstacks in player inventory first
 		topOffPlayerInventory(player, itemstack);
 
-		for (ItemStack pack : player.inventory.mainInventory) {
+		NonNullList<ItemStack> mainInventory = player.inventory.mainInventory;
+		for (int i = 0; i < mainInventory.size(); i++) {
 			if (itemstack.isEmpty()) {
 				break;
 			}
 
+			ItemStack pack = mainInventory.get(i);
+
 			if (pack.isEmpty() || !(pack.getItem() instanceof ItemBackpack)) {
 				continue;
 			}
@@ -10,63 +10,110 @@
  ******************************************************************************/
 package forestry.storage;
 
-import java.util.LinkedList;
-import java.util.List;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.ContainerPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.util.NonNullList;
 
 import net.minecraftforge.common.MinecraftForge;
 
 import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 
 import forestry.api.storage.BackpackResupplyEvent;
 import forestry.core.IResupplyHandler;
-import forestry.core.inventory.ItemInventory;
 import forestry.storage.inventory.ItemInventoryBackpack;
 import forestry.storage.items.ItemBackpack;
 
 public class ResupplyHandler implements IResupplyHandler {
+	/**
+	 * The decoded inventories of the resupply backpacks of every player, by player id and backpack stack.
+	 * An inventory is decoded again if its backpack was changed by another inventory, see {@link ItemInventoryBackpack#isCurrent(ItemStack)}.
+	 * The inventories reference their player, so they are dropped when the player entity is replaced or leaves.
+	 */
+	private final Map<UUID, Map<ItemStack, ItemInventoryBackpack>> backpackInventories = new HashMap<>();
 
-	private static NonNullList<ItemStack> getBackpacks(InventoryPlayer playerInventory) {
-		NonNullList<ItemStack> backpacks = NonNullList.create();
-		for (ItemStack itemStack : playerInventory.mainInventory) {
-			if (itemStack.getItem() instanceof ItemBackpack) {
-				backpacks.add(itemStack);
-			}
-		}
-		return backpacks;
+	@SubscribeEvent
+	public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+		backpackInventories.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+		backpackInventories.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+		backpackInventories.remove(event.player.getUniqueID());
 	}
 
 	@Override
-	public void resupply(EntityPlayer player) {
+	public boolean resupply(EntityPlayer player) {
 
 		// Do not attempt resupplying if this backpack is already opened.
 		if (!(player.openContainer instanceof ContainerPlayer)) {
-			return;
+			return false;
 		}
 
-		for (ItemStack backpack : getBackpacks(player.inventory)) {
-			if (ItemBackpack.getMode(backpack) == BackpackMode.RESUPPLY) {
-				// Load their inventory
-				ItemBackpack backpackItem = (ItemBackpack) backpack.getItem();
-				ItemInventory backpackInventory = new ItemInventoryBackpack(player, backpackItem.getBackpackSize(), backpack);
-
-				Event event = new BackpackResupplyEvent(player, backpackItem.getDefinition(), backpackInventory);
-				if (!MinecraftForge.EVENT_BUS.post(event)) {
-					for (int i = 0; i < backpackInventory.getSizeInventory(); i++) {
-						ItemStack itemStack = backpackInventory.getStackInSlot(i);
-						if (topOffPlayerInventory(player, itemStack)) {
-							backpackInventory.setInventorySlotContents(i, itemStack);
-							break;
-						}
+		Map<ItemStack, ItemInventoryBackpack> cachedInventories = backpackInventories.get(player.getUniqueID());
+		Map<ItemStack, ItemInventoryBackpack> inventories = null;
+		boolean resupplied = false;
+		for (ItemStack backpack : player.inventory.mainInventory) {
+			if (!(backpack.getItem() instanceof ItemBackpack) || ItemBackpack.getMode(backpack) != BackpackMode.RESUPPLY) {
+				continue;
+			}
+
+			// Load their inventory
+			ItemBackpack backpackItem = (ItemBackpack) backpack.getItem();
+			ItemInventoryBackpack backpackInventory = getCachedInventory(cachedInventories, backpack);
+			if (backpackInventory == null) {
+				backpackInventory = new ItemInventoryBackpack(player, backpackItem.getBackpackSize(), backpack);
+			}
+			if (inventories == null) {
+				inventories = new IdentityHashMap<>();
+			}
+			inventories.put(backpack, backpackInventory);
+
+			Event event = new BackpackResupplyEvent(player, backpackItem.getDefinition(), backpackInventory);
+			if (!MinecraftForge.EVENT_BUS.post(event)) {
+				for (int i = 0; i < backpackInventory.getSizeInventory(); i++) {
+					ItemStack itemStack = backpackInventory.getStackInSlot(i);
+					if (topOffPlayerInventory(player, itemStack)) {
+						backpackInventory.setInventorySlotContents(i, itemStack);
+						resupplied = true;
+						break;
 					}
 				}
 			}
 		}
+
+		// only keep the backpacks the player still carries
+		if (inventories == null) {
+			backpackInventories.remove(player.getUniqueID());
+		} else {
+			backpackInventories.put(player.getUniqueID(), inventories);
+		}
+		return resupplied;
+	}
+
+	@Nullable
+	private static ItemInventoryBackpack getCachedInventory(@Nullable Map<ItemStack, ItemInventoryBackpack> cachedInventories, ItemStack backpack) {
+		if (cachedInventories == null) {
+			return null;
+		}
+		ItemInventoryBackpack backpackInventory = cachedInventories.get(backpack);
+		if (backpackInventory == null || !backpackInventory.isCurrent(backpack)) {
+			return null;
+		}
+		return backpackInventory;
 	}
 
 	/**
@@ -78,10 +125,11 @@ public class ResupplyHandler implements IResupplyHandler {
 			return false;
 		}
 		InventoryPlayer playerInventory = player.inventory;
-		List<ItemStack> inventory = new LinkedList<>();
-		inventory.addAll(playerInventory.mainInventory);
-		inventory.addAll(playerInventory.offHandInventory);
+		return topOffStack(playerInventory, playerInventory.mainInventory, itemstack)
+			|| topOffStack(playerInventory, playerInventory.offHandInventory, itemstack);
+	}
 
+	private static boolean topOffStack(InventoryPlayer playerInventory, Iterable<ItemStack> inventory, ItemStack itemstack) {
 		for (ItemStack inventoryStack : inventory) {
 			if (playerInventory.canMergeStacks(inventoryStack, itemstack)) {
 				inventoryStack.grow(1);
@@ -90,7 +138,6 @@ public class ResupplyHandler implements IResupplyHandler {
 				return true;
 			}
 		}
-
 		return false;
 	}
 